@@ -0,0 +1,44 @@
+package com.springbootunittesting.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.springbootunittesting.SpringBootUnitTestingApplication;
+import com.springbootunittesting.entity.Employee;
+
+final class BenchmarkApplication {
+	private static final AtomicInteger DATABASES = new AtomicInteger();
+
+	private BenchmarkApplication() {
+	}
+
+	/**
+	 * Starts the application with the "h2" profile on a fresh in-memory database,
+	 * so several contexts started by one harness don't see each other's rows.
+	 * Extra arguments use command line syntax and override application.properties.
+	 */
+	static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... args) {
+		String database = "benchmark" + DATABASES.incrementAndGet();
+		String[] defaults = { "--spring.profiles.active=h2", "--server.port=0", "--logging.level.root=WARN",
+				"--spring.jpa.show-sql=false", "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+				"--spring.r2dbc.url=r2dbc:h2:mem:///" + database + "?options=DB_CLOSE_DELAY=-1" };
+		String[] allArgs = new String[defaults.length + args.length];
+		System.arraycopy(defaults, 0, allArgs, 0, defaults.length);
+		System.arraycopy(args, 0, allArgs, defaults.length, args.length);
+		return new SpringApplicationBuilder(SpringBootUnitTestingApplication.class).web(webApplicationType)
+				.run(allArgs);
+	}
+
+	static Employee employee(String prefix, long n) {
+		return Employee.builder().firstName("First" + n).lastName("Last" + n).email(prefix + n + "@email.com").build();
+	}
+
+	static List<Employee> employees(String prefix, int count) {
+		return LongStream.range(0, count).mapToObj(n -> employee(prefix, n)).toList();
+	}
+}
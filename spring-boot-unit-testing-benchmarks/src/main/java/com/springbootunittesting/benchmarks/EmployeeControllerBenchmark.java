@@ -0,0 +1,80 @@
+package com.springbootunittesting.benchmarks;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.service.EmployeeService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeControllerBenchmark {
+	private static final int SEED_SIZE = 1_000;
+
+	private final AtomicLong sequence = new AtomicLong();
+	private ConfigurableApplicationContext context;
+	private MockMvc mockMvc;
+	private ObjectMapper objectMapper;
+	private List<Long> ids;
+
+	@Setup
+	public void setup() {
+		context = BenchmarkApplication.start(WebApplicationType.SERVLET);
+		mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+		objectMapper = context.getBean(ObjectMapper.class);
+		ids = context.getBean(EmployeeService.class).saveEmployees(BenchmarkApplication.employees("seed", SEED_SIZE))
+				.getAccepted().stream().map(Employee::getId).toList();
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public MvcResult getEmployee() throws Exception {
+		return mockMvc.perform(get("/api/employees/{id}", ids.get(ThreadLocalRandom.current().nextInt(ids.size()))))
+				.andReturn();
+	}
+
+	@Benchmark
+	public MvcResult getEmployeePage() throws Exception {
+		return mockMvc.perform(get("/api/employees").param("limit", "100")).andReturn();
+	}
+
+	@Benchmark
+	public MvcResult createEmployee() throws Exception {
+		Employee employee = BenchmarkApplication.employee("create", sequence.incrementAndGet());
+		return mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsBytes(employee))).andReturn();
+	}
+}
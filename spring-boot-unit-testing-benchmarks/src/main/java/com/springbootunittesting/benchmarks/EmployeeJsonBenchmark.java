@@ -0,0 +1,137 @@
+package com.springbootunittesting.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springbootunittesting.controller.EmployeeJsonHttpMessageConverter;
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.service.EmployeeJsonCache;
+
+/**
+ * Employee JSON through the default Jackson converter and through
+ * {@link EmployeeJsonHttpMessageConverter}: a list of uncached employees, a
+ * list of cached ones, and a single employee that is already in the JSON
+ * cache. Run with {@code -prof gc} to
+ * compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeJsonBenchmark {
+	private static final Type EMPLOYEE_LIST = new ParameterizedTypeReference<List<Employee>>() {
+	}.getType();
+
+	@Param({ "1", "100", "10000" })
+	private int size;
+
+	private ObjectMapper objectMapper;
+	private List<Employee> employees;
+	private MappingJackson2HttpMessageConverter jacksonConverter;
+	private EmployeeJsonHttpMessageConverter employeeConverter;
+	private EmployeeJsonHttpMessageConverter cachedConverter;
+	private final Sink sink = new Sink();
+
+	@Setup
+	public void setup() throws IOException {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		employees = BenchmarkApplication.employees("json", size);
+		for (int i = 0; i < employees.size(); i++) {
+			employees.get(i).setId(i + 1L);
+			employees.get(i).setVersion(0L);
+		}
+		jacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+		employeeConverter = new EmployeeJsonHttpMessageConverter(objectMapper.getFactory(),
+				new EmployeeJsonCache(objectMapper.getFactory(), 10_000));
+		employeeConverter.write(employees.get(0), Employee.class, MediaType.APPLICATION_JSON, sink.reset());
+		cachedConverter = new EmployeeJsonHttpMessageConverter(objectMapper.getFactory(),
+				new EmployeeJsonCache(objectMapper.getFactory(), 10_000));
+		for (Employee employee : employees) {
+			cachedConverter.write(employee, Employee.class, MediaType.APPLICATION_JSON, sink.reset());
+		}
+	}
+
+	@Benchmark
+	public byte[] serializeList() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(employees);
+	}
+
+	@Benchmark
+	public int jacksonConverterList() throws IOException {
+		jacksonConverter.write(employees, EMPLOYEE_LIST, MediaType.APPLICATION_JSON, sink.reset());
+		return sink.body.size();
+	}
+
+	@Benchmark
+	public int employeeConverterList() throws IOException {
+		employeeConverter.write(employees, EMPLOYEE_LIST, MediaType.APPLICATION_JSON, sink.reset());
+		return sink.body.size();
+	}
+
+	// every employee in the list was written on its own before, so all of them are copied from the cache
+	@Benchmark
+	public int employeeConverterCachedList() throws IOException {
+		cachedConverter.write(employees, EMPLOYEE_LIST, MediaType.APPLICATION_JSON, sink.reset());
+		return sink.body.size();
+	}
+
+	@Benchmark
+	public int jacksonConverterOne() throws IOException {
+		jacksonConverter.write(employees.get(0), Employee.class, MediaType.APPLICATION_JSON, sink.reset());
+		return sink.body.size();
+	}
+
+	@Benchmark
+	public int employeeConverterOne() throws IOException {
+		employeeConverter.write(employees.get(0), Employee.class, MediaType.APPLICATION_JSON, sink.reset());
+		return sink.body.size();
+	}
+
+	// reused across invocations so the benchmarks measure the converters, not the response buffer
+	private static final class Sink implements HttpOutputMessage {
+		private final HttpHeaders headers = new HttpHeaders();
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream(1 << 20);
+
+		Sink reset() {
+			headers.clear();
+			body.reset();
+			return this;
+		}
+
+		@Override
+		public OutputStream getBody() {
+			return body;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.springbootunittesting.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.repository.EmployeeRepository;
+import com.springbootunittesting.service.EmployeeService;
+
+/**
+ * Reads the whole employees table as managed entities, in a read-write and in
+ * a read-only transaction, and through the projection used by
+ * EmployeeService.getAllEmployees. Run with the gc profiler (the jmh profile
+ * enables it) to compare gc.alloc.rate.norm, the bytes allocated per read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmployeeReadBenchmark {
+	@Param({ "100000" })
+	private int size;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeService employeeService;
+	private EmployeeRepository employeeRepository;
+	private TransactionTemplate readWrite;
+	private TransactionTemplate readOnly;
+
+	@Setup
+	public void setup() {
+		context = BenchmarkApplication.start(WebApplicationType.NONE, "--employee.search.enabled=false",
+				"--employee.metrics.enabled=false");
+		employeeService = context.getBean(EmployeeService.class);
+		employeeRepository = context.getBean(EmployeeRepository.class);
+		PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+		readWrite = new TransactionTemplate(transactionManager);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		employeeService.saveEmployees(BenchmarkApplication.employees("read", size));
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Employee> managedEntities() {
+		return readWrite.execute(status -> employeeRepository.findAll());
+	}
+
+	@Benchmark
+	public List<Employee> managedEntitiesReadOnly() {
+		return readOnly.execute(status -> employeeRepository.findAll());
+	}
+
+	@Benchmark
+	public List<Employee> projection() {
+		return employeeService.getAllEmployees();
+	}
+}
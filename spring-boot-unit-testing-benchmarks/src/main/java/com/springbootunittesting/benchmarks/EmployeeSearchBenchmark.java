@@ -0,0 +1,71 @@
+package com.springbootunittesting.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.service.EmployeeSearchIndex;
+
+/**
+ * Type-ahead latency of the in-memory search index with a million employees.
+ * Names are drawn from a small syllable set so that, as in real data, many
+ * employees share first and last names. Queries matching more than 10000
+ * employees, such as "m", measure how fast the index gives up and leaves them
+ * to the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class EmployeeSearchBenchmark {
+	private static final String[] SYLLABLES = { "an", "bel", "car", "da", "el", "fin", "gar", "han", "is", "jo",
+			"kel", "lin", "mar", "no", "or", "per", "qui", "ros", "san", "tin", "ul", "ve", "wil", "xa", "yo", "zed" };
+
+	@Param({ "1000000" })
+	private int size;
+
+	@Param({ "m", "mar", "martin", "mar jo", "marrtin" })
+	private String query;
+
+	private EmployeeSearchIndex searchIndex;
+
+	@Setup
+	public void setup() {
+		searchIndex = new EmployeeSearchIndex(null, 10_000);
+		Random random = new Random(42);
+		for (long id = 1; id <= size; id++) {
+			String firstName = name(random, 2);
+			String lastName = name(random, 3);
+			searchIndex.index(Employee.builder().id(id).firstName(firstName).lastName(lastName)
+					.email((firstName + "." + lastName + id + "@email.com").toLowerCase()).build());
+		}
+	}
+
+	@Benchmark
+	public List<Employee> search() {
+		return searchIndex.search(query, 10);
+	}
+
+	private static String name(Random random, int syllables) {
+		StringBuilder name = new StringBuilder();
+		for (int i = 0; i < syllables; i++) {
+			name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+		}
+		return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+	}
+}
@@ -0,0 +1,72 @@
+package com.springbootunittesting.benchmarks;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.service.EmployeeService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+	private static final int SEED_SIZE = 1_000;
+
+	private final AtomicLong sequence = new AtomicLong();
+	private ConfigurableApplicationContext context;
+	private EmployeeService employeeService;
+	private List<Long> ids;
+
+	@Setup
+	public void setup() {
+		context = BenchmarkApplication.start(WebApplicationType.NONE);
+		employeeService = context.getBean(EmployeeService.class);
+		ids = employeeService.saveEmployees(BenchmarkApplication.employees("seed", SEED_SIZE)).getAccepted().stream()
+				.map(Employee::getId).toList();
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Employee saveEmployee() {
+		return employeeService.saveEmployee(BenchmarkApplication.employee("save", sequence.incrementAndGet()));
+	}
+
+	@Benchmark
+	public Optional<Employee> getEmployee() {
+		return employeeService.getEmployee(randomId());
+	}
+
+	@Benchmark
+	public Employee updateEmployee() {
+		long id = randomId();
+		return employeeService.updateEmployee(id, BenchmarkApplication.employee("update", id));
+	}
+
+	private long randomId() {
+		return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+	}
+}
@@ -0,0 +1,85 @@
+package com.springbootunittesting.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.springbootunittesting.exception.ResourceExistsException;
+import com.springbootunittesting.exception.ResourceNotFoundException;
+import com.springbootunittesting.service.EmployeeService;
+
+/**
+ * Error responses over real HTTP, so the servlet container's error handling is
+ * measured too: updating an employee that does not exist (404) and creating
+ * one with an email that is taken (409). The exception benchmarks isolate the
+ * cost of creating the exceptions themselves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+	private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	private ConfigurableApplicationContext context;
+	private HttpRequest updateMissing;
+	private HttpRequest createDuplicate;
+
+	@Setup
+	public void setup() {
+		// the 500 responses of the default error path log every exception
+		context = BenchmarkApplication.start(WebApplicationType.SERVLET,
+				"--logging.level.org.apache.catalina.core=OFF");
+		context.getBean(EmployeeService.class).saveEmployee(BenchmarkApplication.employee("taken", 0));
+		String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+				+ "/api/employees";
+		String json = "{\"firstName\":\"First0\",\"lastName\":\"Last0\",\"email\":\"taken0@email.com\"}";
+		updateMissing = HttpRequest.newBuilder(URI.create(base + "/999999999")).header("Content-Type", "application/json")
+				.PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+		createDuplicate = HttpRequest.newBuilder(URI.create(base)).header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json)).build();
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public HttpResponse<byte[]> notFound() throws IOException, InterruptedException {
+		return httpClient.send(updateMissing, HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	@Benchmark
+	public HttpResponse<byte[]> duplicate() throws IOException, InterruptedException {
+		return httpClient.send(createDuplicate, HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	@Benchmark
+	public RuntimeException newNotFoundException() {
+		return new ResourceNotFoundException("Employee does not exist with id: 42");
+	}
+
+	@Benchmark
+	public RuntimeException newExistsException() {
+		return new ResourceExistsException("Employee already exists with given email: taken0@email.com");
+	}
+}
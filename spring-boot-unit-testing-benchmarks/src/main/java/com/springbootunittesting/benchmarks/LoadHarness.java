@@ -0,0 +1,99 @@
+package com.springbootunittesting.benchmarks;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load generator: each of the concurrent workers sends the
+ * next request as soon as the previous one answers, and every latency is kept
+ * so exact percentiles can be reported.
+ */
+final class LoadHarness {
+	private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+	Result run(int concurrency, Duration duration, Supplier<HttpRequest> requests) throws InterruptedException {
+		long[][] latencies = new long[concurrency][];
+		int[] counts = new int[concurrency];
+		AtomicLong errors = new AtomicLong();
+		AtomicLong rejected = new AtomicLong();
+		CountDownLatch done = new CountDownLatch(concurrency);
+		long deadline = System.nanoTime() + duration.toNanos();
+		long started = System.nanoTime();
+		for (int worker = 0; worker < concurrency; worker++) {
+			int index = worker;
+			Thread thread = new Thread(() -> {
+				long[] samples = new long[1024];
+				int count = 0;
+				try {
+					while (System.nanoTime() < deadline) {
+						long start = System.nanoTime();
+						try {
+							int status = httpClient.send(requests.get(), HttpResponse.BodyHandlers.discarding())
+									.statusCode();
+							if (status == 429 || status == 503) {
+								rejected.incrementAndGet();
+							} else if (status >= 500) {
+								errors.incrementAndGet();
+							}
+						} catch (IOException e) {
+							errors.incrementAndGet();
+						}
+						if (count == samples.length) {
+							samples = Arrays.copyOf(samples, count * 2);
+						}
+						samples[count++] = System.nanoTime() - start;
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					latencies[index] = samples;
+					counts[index] = count;
+					done.countDown();
+				}
+			}, "load-" + worker);
+			thread.setDaemon(true);
+			thread.start();
+		}
+		done.await();
+		long elapsed = System.nanoTime() - started;
+		int total = Arrays.stream(counts).sum();
+		long[] all = new long[total];
+		int offset = 0;
+		for (int worker = 0; worker < concurrency; worker++) {
+			System.arraycopy(latencies[worker], 0, all, offset, counts[worker]);
+			offset += counts[worker];
+		}
+		Arrays.sort(all);
+		return new Result(concurrency, total, total * 1e9 / elapsed, percentile(all, 0.50), percentile(all, 0.99),
+				errors.get(), rejected.get());
+	}
+
+	private static double percentile(long[] sorted, double quantile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+	}
+
+	static void print(String label, List<Result> results) {
+		System.out.printf("%n%-10s %11s %10s %12s %10s %10s %9s %9s%n", label, "concurrency", "requests", "req/s",
+				"p50 ms", "p99 ms", "errors", "rejected");
+		for (Result result : results) {
+			System.out.printf("%-10s %11d %10d %12.1f %10.2f %10.2f %9d %9d%n", "", result.concurrency(),
+					result.requests(), result.throughput(), result.p50Millis(), result.p99Millis(), result.errors(),
+					result.rejected());
+		}
+	}
+
+	record Result(int concurrency, long requests, double throughput, double p50Millis, double p99Millis,
+			long errors, long rejected) {
+	}
+}
@@ -0,0 +1,84 @@
+package com.springbootunittesting.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.service.EmployeeService;
+
+/**
+ * Compares request throughput over real HTTP with all metrics on (Boot's
+ * http/repository timers with histograms plus the employee.* row and
+ * hydration summaries) against a run with every meter disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+	private static final int SEED_SIZE = 1_000;
+
+	@Param({ "true", "false" })
+	private boolean metrics;
+
+	private ConfigurableApplicationContext context;
+	private HttpClient httpClient;
+	private String baseUrl;
+	private List<Long> ids;
+
+	@Setup
+	public void setup() {
+		context = BenchmarkApplication.start(WebApplicationType.SERVLET, "--employee.metrics.enabled=" + metrics,
+				"--management.metrics.enable.all=" + metrics);
+		httpClient = HttpClient.newHttpClient();
+		baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/employees";
+		ids = context.getBean(EmployeeService.class).saveEmployees(BenchmarkApplication.employees("seed", SEED_SIZE))
+				.getAccepted().stream().map(Employee::getId).toList();
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int getEmployee() throws IOException, InterruptedException {
+		long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+		return send(baseUrl + "/" + id);
+	}
+
+	@Benchmark
+	public int getEmployeePage() throws IOException, InterruptedException {
+		return send(baseUrl + "?limit=100");
+	}
+
+	private int send(String url) throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+		return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+}
@@ -0,0 +1,70 @@
+package com.springbootunittesting.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.service.EmployeeService;
+
+/**
+ * Drives the employee API past what its database can serve, with and without
+ * the adaptive concurrency limit. The connection pool is cut to
+ * harness.pool-size connections to stand in for a slow database. Without the
+ * limit, the excess requests wait for a connection and latency grows with
+ * concurrency. With it, they are refused with 503, and the latency of the
+ * rest stays close to what the database needs.
+ *
+ * <pre>
+ * mvn -Pload-test -DskipTests verify -Dharness.class=com.springbootunittesting.benchmarks.OverloadHarness
+ * </pre>
+ *
+ * System properties: harness.concurrency (default 16,64,256,1024),
+ * harness.duration in seconds per level (default 10), harness.pool-size
+ * (default 2).
+ */
+public final class OverloadHarness {
+	private static final int SEED_SIZE = 10_000;
+
+	private OverloadHarness() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		int[] levels = Arrays.stream(System.getProperty("harness.concurrency", "16,64,256,1024").split(","))
+				.mapToInt(Integer::parseInt).toArray();
+		Duration duration = Duration.ofSeconds(Long.getLong("harness.duration", 10));
+		int poolSize = Integer.getInteger("harness.pool-size", 2);
+		for (boolean limited : new boolean[] { false, true }) {
+			try (ConfigurableApplicationContext context = BenchmarkApplication.start(WebApplicationType.SERVLET,
+					"--employee.concurrency.enabled=" + limited, "--employee.metrics.enabled=false",
+					"--spring.datasource.hikari.maximum-pool-size=" + poolSize)) {
+				List<Long> ids = context.getBean(EmployeeService.class)
+						.saveEmployees(BenchmarkApplication.employees("overload", SEED_SIZE)).getAccepted().stream()
+						.map(Employee::getId).toList();
+				String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+						+ "/api/employees";
+				// the page query bypasses the caches, so every request needs a connection
+				LoadHarness harness = new LoadHarness();
+				Supplier<HttpRequest> requests = () -> HttpRequest
+						.newBuilder(URI.create(baseUrl + "?limit=100&after="
+								+ ids.get(ThreadLocalRandom.current().nextInt(ids.size()))))
+						.GET().build();
+				// long enough for the JIT to settle in the first context too, so the two runs compare fairly
+				harness.run(levels[0], Duration.ofSeconds(15), requests);
+				List<LoadHarness.Result> results = new ArrayList<>();
+				for (int concurrency : levels) {
+					results.add(harness.run(concurrency, duration, requests));
+				}
+				LoadHarness.print(limited ? "limited" : "unlimited", results);
+			}
+		}
+	}
+}
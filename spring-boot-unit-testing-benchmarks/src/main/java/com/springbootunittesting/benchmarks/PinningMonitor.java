@@ -0,0 +1,58 @@
+package com.springbootunittesting.benchmarks;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Listens in-process for the JFR jdk.VirtualThreadPinned event (Java 21), which
+ * fires when a virtual thread blocks while pinned to its carrier, typically
+ * inside a synchronized block. Pinning sites are grouped by the first
+ * application or library frame below the JDK.
+ */
+final class PinningMonitor implements AutoCloseable {
+	private final RecordingStream stream = new RecordingStream();
+	private final Map<String, Long> sites = new ConcurrentHashMap<>();
+
+	PinningMonitor() {
+		stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1)).withStackTrace();
+		stream.onEvent("jdk.VirtualThreadPinned", this::record);
+		stream.startAsync();
+	}
+
+	private void record(RecordedEvent event) {
+		String site = "unknown";
+		if (event.getStackTrace() != null) {
+			for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+				String type = frame.getMethod().getType().getName();
+				if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+					site = type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+					break;
+				}
+			}
+		}
+		sites.merge(site, 1L, Long::sum);
+	}
+
+	// each site is taken out with its count in one step, so an event recorded meanwhile lands in the next drain
+	Map<String, Long> drain() {
+		Map<String, Long> drained = new HashMap<>();
+		for (String site : sites.keySet()) {
+			Long count = sites.remove(site);
+			if (count != null) {
+				drained.put(site, count);
+			}
+		}
+		return drained;
+	}
+
+	@Override
+	public void close() {
+		stream.close();
+	}
+}
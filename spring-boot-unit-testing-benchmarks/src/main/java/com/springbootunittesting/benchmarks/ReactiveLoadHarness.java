@@ -0,0 +1,81 @@
+package com.springbootunittesting.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.service.EmployeeService;
+
+/**
+ * Compares throughput and p99 latency of the servlet employee API (JPA on
+ * Tomcat's thread pool) against the reactive variant (WebFlux on R2DBC) at
+ * increasing concurrency, for a lookup by id and for a full list read. The
+ * employee cache is disabled in servlet mode so both sides reach the database
+ * on every request.
+ *
+ * <pre>
+ * mvn -Pload-test -DskipTests verify -Dharness.class=com.springbootunittesting.benchmarks.ReactiveLoadHarness
+ * </pre>
+ *
+ * System properties: harness.concurrency (default 16,64,256,1024),
+ * harness.duration in seconds per level (default 10).
+ */
+public final class ReactiveLoadHarness {
+	private static final int SEED_SIZE = 10_000;
+	private static final int LIST_SIZE = 100;
+
+	private ReactiveLoadHarness() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		int[] levels = Arrays.stream(System.getProperty("harness.concurrency", "16,64,256,1024").split(","))
+				.mapToInt(Integer::parseInt).toArray();
+		Duration duration = Duration.ofSeconds(Long.getLong("harness.duration", 10));
+		for (boolean reactive : new boolean[] { false, true }) {
+			String mode = reactive ? "reactive" : "servlet";
+			try (ConfigurableApplicationContext context = reactive
+					? BenchmarkApplication.start(WebApplicationType.REACTIVE, "--spring.profiles.active=h2,reactive")
+					: BenchmarkApplication.start(WebApplicationType.SERVLET, "--employee.cache.maximum-size=0",
+							"--employee.metrics.enabled=false")) {
+				EmployeeService employeeService = context.getBean(EmployeeService.class);
+				List<Long> ids = employeeService.saveEmployees(BenchmarkApplication.employees("load", SEED_SIZE))
+						.getAccepted().stream().map(Employee::getId).toList();
+				String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+						+ "/api/employees";
+				run(mode + " get by id", levels, duration, () -> HttpRequest
+						.newBuilder(URI.create(baseUrl + "/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size()))))
+						.GET().build());
+				// the list endpoint returns every row, so it is measured on a smaller table
+				ids.stream().skip(LIST_SIZE).forEach(employeeService::deleteEmployee);
+				Function<String, Supplier<HttpRequest>> list = accept -> () -> HttpRequest.newBuilder(URI.create(baseUrl))
+						.header("Accept", accept).GET().build();
+				run(mode + " list (" + LIST_SIZE + " rows, json)", levels, duration, list.apply("application/json"));
+				if (reactive) {
+					run(mode + " list (" + LIST_SIZE + " rows, ndjson)", levels, duration,
+							list.apply("application/x-ndjson"));
+				}
+			}
+		}
+	}
+
+	private static void run(String label, int[] levels, Duration duration, Supplier<HttpRequest> requests)
+			throws InterruptedException {
+		LoadHarness harness = new LoadHarness();
+		harness.run(levels[0], Duration.ofSeconds(5), requests);
+		List<LoadHarness.Result> results = new ArrayList<>();
+		for (int concurrency : levels) {
+			results.add(harness.run(concurrency, duration, requests));
+		}
+		LoadHarness.print(label, results);
+	}
+}
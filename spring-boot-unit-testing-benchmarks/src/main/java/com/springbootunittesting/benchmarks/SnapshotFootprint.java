@@ -0,0 +1,85 @@
+package com.springbootunittesting.benchmarks;
+
+import java.lang.ref.Reference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.service.EmployeeSnapshot;
+
+/**
+ * Heap retained per employee by an EmployeeSnapshot and by the entity
+ * approach, a HashMap from id to Employee holding strings as JDBC returns
+ * them, one instance per row. Measured as the used heap after a full gc before
+ * and after building each, for two shapes of data: names drawn from a few
+ * thousand and emails spread over 20 domains, and every name distinct as the
+ * benchmark employees are.
+ *
+ * <pre>
+ * mvn -Pload-test -DskipTests verify -Dharness.class=com.springbootunittesting.benchmarks.SnapshotFootprint
+ * </pre>
+ *
+ * System properties: footprint.size, employees per structure (default
+ * 200000). The serial collector (-XX:+UseSerialGC) gives the steadiest
+ * numbers.
+ */
+public final class SnapshotFootprint {
+	private SnapshotFootprint() {
+	}
+
+	public static void main(String[] args) {
+		int size = Integer.getInteger("footprint.size", 200_000);
+		System.out.printf("%-10s %12s %12s %12s%n", "names", "entities", "snapshot", "reported");
+		print("repeating", size, SnapshotFootprint::repeatingNames);
+		print("distinct", size, n -> Employee.builder().id(n + 1).firstName("First" + n).lastName("Last" + n)
+				.email("footprint" + n + "@email.com").version(0L).build());
+	}
+
+	private static void print(String shape, int size, LongFunction<Employee> employees) {
+		long entities = retained(() -> {
+			Map<Long, Employee> byId = new HashMap<>();
+			for (long n = 0; n < size; n++) {
+				Employee employee = employees.apply(n);
+				byId.put(employee.getId(), employee);
+			}
+			return byId;
+		});
+		EmployeeSnapshot[] built = new EmployeeSnapshot[1];
+		long snapshot = retained(() -> {
+			EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder(size);
+			for (long n = 0; n < size; n++) {
+				builder.add(employees.apply(n));
+			}
+			built[0] = builder.build();
+			return built[0];
+		});
+		System.out.printf("%-10s %10d B %10d B %10d B   bytes per employee%n", shape, entities / size,
+				snapshot / size, built[0].getBytes() / size);
+	}
+
+	private static Employee repeatingNames(long n) {
+		String firstName = "First" + n % 500;
+		String lastName = "Last" + n * 7 % 2000;
+		return Employee.builder().id(n + 1).firstName(firstName).lastName(lastName)
+				.email(firstName.toLowerCase() + "." + lastName.toLowerCase() + n + "@company" + n % 20 + ".com")
+				.version(0L).build();
+	}
+
+	private static long retained(Supplier<Object> build) {
+		long before = usedAfterGc();
+		Object structure = build.get();
+		long after = usedAfterGc();
+		Reference.reachabilityFence(structure);
+		return after - before;
+	}
+
+	private static long usedAfterGc() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 4; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,82 @@
+package com.springbootunittesting.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.service.EmployeeService;
+
+/**
+ * Compares throughput and p99 latency of the employee API on Tomcat's platform
+ * thread pool against employee.threads.virtual=true at increasing concurrency,
+ * and reports where virtual threads got pinned. Needs a Java 21 runtime.
+ *
+ * <pre>
+ * mvn -Pload-test -DskipTests verify
+ * </pre>
+ *
+ * System properties: harness.concurrency (default 16,64,256,1024),
+ * harness.duration in seconds per level (default 10).
+ */
+public final class VirtualThreadLoadHarness {
+	private static final int SEED_SIZE = 10_000;
+
+	private VirtualThreadLoadHarness() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (Runtime.version().feature() < 21) {
+			throw new IllegalStateException("Virtual threads need Java 21, running on " + Runtime.version());
+		}
+		int[] levels = Arrays.stream(System.getProperty("harness.concurrency", "16,64,256,1024").split(","))
+				.mapToInt(Integer::parseInt).toArray();
+		Duration duration = Duration.ofSeconds(Long.getLong("harness.duration", 10));
+		for (boolean virtual : new boolean[] { false, true }) {
+			String mode = virtual ? "virtual" : "platform";
+			try (ConfigurableApplicationContext context = BenchmarkApplication.start(WebApplicationType.SERVLET,
+					"--employee.threads.virtual=" + virtual, "--employee.metrics.enabled=false");
+					PinningMonitor pinning = new PinningMonitor()) {
+				List<Long> ids = context.getBean(EmployeeService.class)
+						.saveEmployees(BenchmarkApplication.employees("load", SEED_SIZE)).getAccepted().stream()
+						.map(Employee::getId).toList();
+				String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+						+ "/api/employees";
+				// the page query bypasses the employee cache, so every request reaches JDBC
+				LoadHarness harness = new LoadHarness();
+				Supplier<HttpRequest> requests = () -> HttpRequest
+						.newBuilder(URI.create(baseUrl + "?limit=20&after="
+								+ ids.get(ThreadLocalRandom.current().nextInt(ids.size()))))
+						.GET().build();
+				harness.run(levels[0], Duration.ofSeconds(5), requests);
+				pinning.drain();
+				List<LoadHarness.Result> results = new ArrayList<>();
+				for (int concurrency : levels) {
+					results.add(harness.run(concurrency, duration, requests));
+				}
+				LoadHarness.print(mode, results);
+				printPinning(pinning.drain());
+			}
+		}
+	}
+
+	private static void printPinning(Map<String, Long> sites) {
+		if (sites.isEmpty()) {
+			System.out.println("no pinned virtual threads observed");
+			return;
+		}
+		System.out.println("pinned virtual threads (>= 1 ms) by site:");
+		sites.entrySet().stream().sorted(Comparator.comparingLong(entry -> -entry.getValue())).limit(10)
+				.forEach(entry -> System.out.printf("  %8d  %s%n", entry.getValue(), entry.getKey()));
+	}
+}
@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Time from process start to the first successful API response, for each startup mode, on embedded H2.
+#
+#   mvn -Pfast-startup -DskipTests package
+#   scripts/compare-startup.sh [runs per mode, default 5]
+#
+# Run from the spring-boot-unit-testing directory. Prints the median and best of each mode in milliseconds.
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-8087}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+EXEC_JAR=$(ls target/spring-boot-unit-testing-*-exec.jar)
+FAST_DIR=target/fast-startup
+FAST_JAR=$(cd "$FAST_DIR" && ls spring-boot-unit-testing-*-fast-startup.jar)
+URL="http://localhost:$PORT/api/employees?limit=1"
+
+# mode name, working directory, then the java arguments
+MODES=(
+	"fat-jar|.|-jar $EXEC_JAR --spring.profiles.active=h2"
+	"lazy|.|-jar $EXEC_JAR --spring.profiles.active=h2,lazy"
+	"aot|$FAST_DIR|-Dspring.aot.enabled=true -jar $FAST_JAR --spring.profiles.active=h2"
+	"cds|$FAST_DIR|-XX:SharedArchiveFile=application.jsa -jar $FAST_JAR --spring.profiles.active=h2"
+	"aot+cds|$FAST_DIR|-XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar $FAST_JAR --spring.profiles.active=h2"
+	"aot+cds+lazy|$FAST_DIR|-XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar $FAST_JAR --spring.profiles.active=h2,lazy"
+)
+
+now_ms() {
+	echo $(($(date +%s%N) / 1000000))
+}
+
+time_to_first_request() {
+	local directory=$1
+	shift
+	local started
+	started=$(now_ms)
+	(cd "$directory" && exec "$JAVA" "$@" --server.port="$PORT" --logging.level.root=WARN >/dev/null 2>&1) &
+	local pid=$!
+	until curl -sf -o /dev/null "$URL"; do
+		if ! kill -0 "$pid" 2>/dev/null; then
+			echo "application exited before answering: $*" >&2
+			return 1
+		fi
+		sleep 0.02
+	done
+	echo $(($(now_ms) - started))
+	kill "$pid"
+	wait "$pid" 2>/dev/null || true
+}
+
+printf "%-14s %10s %10s\n" mode "median ms" "best ms"
+for mode in "${MODES[@]}"; do
+	IFS='|' read -r name directory arguments <<<"$mode"
+	times=()
+	for ((run = 0; run < RUNS; run++)); do
+		# shellcheck disable=SC2086 # the arguments are meant to be split
+		times+=("$(time_to_first_request "$directory" $arguments)")
+	done
+	sorted=($(printf "%s\n" "${times[@]}" | sort -n))
+	printf "%-14s %10d %10d\n" "$name" "${sorted[$((RUNS / 2))]}" "${sorted[0]}"
+done
@@ -2,12 +2,24 @@ package com.springbootunittesting;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class SpringBootUnitTestingApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(SpringBootUnitTestingApplication.class, args);
+		SpringApplication application = new SpringApplication(SpringBootUnitTestingApplication.class);
+		// read before the environment exists, so only a system property or environment variable can turn it on
+		if (Boolean.parseBoolean(System.getProperty("employee.startup.timeline",
+				System.getenv("EMPLOYEE_STARTUP_TIMELINE")))) {
+			application.setApplicationStartup(new BufferingApplicationStartup(20_000));
+		}
+		ConfigurableApplicationContext context = application.run(args);
+		// training run for the class data sharing archive: start up fully, then exit
+		if (context.getEnvironment().getProperty("employee.startup.exit-when-ready", Boolean.class, false)) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
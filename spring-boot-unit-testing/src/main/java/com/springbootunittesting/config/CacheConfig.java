@@ -0,0 +1,26 @@
+package com.springbootunittesting.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(EmployeeCacheProperties.class)
+public class CacheConfig {
+	public static final String EMPLOYEE_CACHE = "employees";
+
+	@Bean
+	public CacheManager cacheManager(EmployeeCacheProperties properties) {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager(EMPLOYEE_CACHE);
+		cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(properties.getMaximumSize())
+				.expireAfterWrite(properties.getTimeToLive()).recordStats());
+		cacheManager.setAllowNullValues(properties.isCacheMisses());
+		return cacheManager;
+	}
+}
@@ -0,0 +1,56 @@
+package com.springbootunittesting.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.springbootunittesting.limit.AdaptiveConcurrencyLimiter;
+import com.springbootunittesting.limit.ConcurrencyLimitInterceptor;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(prefix = "employee.concurrency", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+	private final ConcurrencyLimitProperties properties;
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	public ConcurrencyLimitConfig(ConcurrencyLimitProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+	}
+
+	// the change feed, import and export hold their request for minutes and are left out
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		AdaptiveConcurrencyLimiter readLimiter = limiter("read", properties.getRead());
+		AdaptiveConcurrencyLimiter writeLimiter = limiter("write", properties.getWrite());
+		registry.addInterceptor(
+				new ConcurrencyLimitInterceptor(readLimiter, writeLimiter, properties.getRetryAfter().toSeconds()))
+				.addPathPatterns("/api/employees", "/api/employees/**").excludePathPatterns("/api/employees/changes",
+						"/api/employees/import", "/api/employees/export");
+	}
+
+	private AdaptiveConcurrencyLimiter limiter(String budget, ConcurrencyLimitProperties.Budget limits) {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limits.getInitialLimit(),
+				limits.getMinLimit(), limits.getMaxLimit(), properties.getSmoothing(), properties.getTolerance());
+		meterRegistry.ifAvailable(meterRegistry -> {
+			Gauge.builder("employee.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+					.tag("budget", budget).register(meterRegistry);
+			Gauge.builder("employee.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+					.tag("budget", budget).register(meterRegistry);
+			FunctionCounter.builder("employee.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+					.tag("budget", budget).register(meterRegistry);
+		});
+		return limiter;
+	}
+}
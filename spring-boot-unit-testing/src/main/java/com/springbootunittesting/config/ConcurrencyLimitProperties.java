@@ -0,0 +1,30 @@
+package com.springbootunittesting.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@ConfigurationProperties(prefix = "employee.concurrency")
+public class ConcurrencyLimitProperties {
+	private Budget read = new Budget(20, 4, 150);
+	private Budget write = new Budget(10, 2, 50);
+	// weight of each new estimate in the limit, between 0 and 1
+	private double smoothing = 0.2;
+	// how much slower than their long-term average requests may get before the limit shrinks
+	private double tolerance = 1.5;
+	private Duration retryAfter = Duration.ofSeconds(1);
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Budget {
+		private int initialLimit;
+		private int minLimit;
+		private int maxLimit;
+	}
+}
@@ -0,0 +1,16 @@
+package com.springbootunittesting.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "employee.cache")
+public class EmployeeCacheProperties {
+	private long maximumSize = 10_000;
+	private Duration timeToLive = Duration.ofMinutes(10);
+	// cache "not found" results as well, so repeated lookups of missing ids skip the database
+	private boolean cacheMisses = false;
+}
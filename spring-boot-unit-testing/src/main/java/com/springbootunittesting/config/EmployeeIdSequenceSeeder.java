@@ -0,0 +1,63 @@
+package com.springbootunittesting.config;
+
+import javax.sql.DataSource;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.springbootunittesting.entity.Employee;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Moves employees_seq past the ids already in the employees table. Tables
+ * created while ids were IDENTITY columns already hold rows when the schema
+ * update adds the sequence, and the new sequence starts at 1. Hibernate's
+ * pooled optimizer hands out the allocation size of ids up to each value it
+ * fetches, so the next value has to be at least max(id) plus the allocation
+ * size. Runs once the EntityManagerFactory has updated the schema, and only
+ * ever moves the sequence forward. No bean depends on it, so it is exempt from
+ * lazy initialization; otherwise the lazy profile would never create it.
+ */
+@Component
+@Lazy(false)
+public class EmployeeIdSequenceSeeder {
+	private static final Logger log = LoggerFactory.getLogger(EmployeeIdSequenceSeeder.class);
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Dialect dialect;
+
+	public EmployeeIdSequenceSeeder(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+	}
+
+	@PostConstruct
+	public void seed() {
+		Long maxId = jdbcTemplate.queryForObject("select max(id) from employees", Long.class);
+		if (maxId == null) {
+			return;
+		}
+		long next = maxId + Employee.ID_ALLOCATION_SIZE;
+		SequenceSupport sequences = dialect.getSequenceSupport();
+		if (sequences.supportsSequences()) {
+			Long current = jdbcTemplate.queryForObject(sequences.getSequenceNextValString(Employee.ID_SEQUENCE),
+					Long.class);
+			if (current != null && current - Employee.ID_ALLOCATION_SIZE < maxId) {
+				jdbcTemplate.execute("alter sequence " + Employee.ID_SEQUENCE + " restart with " + next);
+				log.info("Restarted {} at {}, past the existing ids", Employee.ID_SEQUENCE, next);
+			}
+		} else if (jdbcTemplate.update("update " + Employee.ID_SEQUENCE + " set next_val = ? where next_val < ?", next,
+				next) > 0) {
+			// MySQL has no sequences; Hibernate keeps the next value in a table
+			log.info("Moved {} to {}, past the existing ids", Employee.ID_SEQUENCE, next);
+		}
+	}
+}
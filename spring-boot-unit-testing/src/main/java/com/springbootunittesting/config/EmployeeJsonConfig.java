@@ -0,0 +1,41 @@
+package com.springbootunittesting.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springbootunittesting.controller.EmployeeJsonHttpMessageConverter;
+import com.springbootunittesting.service.EmployeeJsonCache;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(prefix = "employee.json", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeJsonConfig implements WebMvcConfigurer {
+	private final ObjectMapper objectMapper;
+	private final ObjectProvider<EmployeeJsonCache> jsonCache;
+
+	public EmployeeJsonConfig(ObjectMapper objectMapper, ObjectProvider<EmployeeJsonCache> jsonCache) {
+		this.objectMapper = objectMapper;
+		this.jsonCache = jsonCache;
+	}
+
+	@Bean
+	public EmployeeJsonCache employeeJsonCache(@Value("${employee.json.cache-size:10000}") long cacheSize) {
+		return new EmployeeJsonCache(objectMapper.getFactory(), cacheSize);
+	}
+
+	// ahead of the Jackson converter, which still handles every other type
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		converters.add(0, new EmployeeJsonHttpMessageConverter(objectMapper.getFactory(), jsonCache.getObject()));
+	}
+}
@@ -0,0 +1,83 @@
+package com.springbootunittesting.config;
+
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.springbootunittesting.entity.Employee;
+
+/**
+ * Hibernate second-level cache for Employee entities plus the query cache,
+ * kept in process by Caffeine's JCache provider. Hibernate keeps both current
+ * for writes it performs, bulk updates and deletes included; writes that
+ * bypass Hibernate (the R2DBC repository) do not, which is why the reactive
+ * profile turns the cache off. Turned off, both caches are disabled outright:
+ * with hibernate-jcache on the classpath Hibernate would otherwise enable them
+ * and create unbounded regions of its own.
+ */
+@Configuration
+@EnableConfigurationProperties(HibernateCacheProperties.class)
+public class HibernateCacheConfig {
+	private static final AtomicInteger CACHE_MANAGERS = new AtomicInteger();
+
+	@Bean
+	@ConditionalOnProperty(prefix = "employee.l2-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+	public HibernatePropertiesCustomizer secondLevelCacheCustomizer(HibernateCacheProperties properties) {
+		return hibernateProperties -> {
+			hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+			hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+			hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+			hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager(properties));
+			hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+		};
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "employee.l2-cache", name = "enabled", havingValue = "false")
+	public HibernatePropertiesCustomizer secondLevelCacheDisabledCustomizer() {
+		return hibernateProperties -> {
+			hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+			hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, false);
+		};
+	}
+
+	/**
+	 * A cache manager of its own for every session factory, so contexts sharing
+	 * a JVM (tests, benchmarks) never share cached rows. Hibernate closes it
+	 * with the session factory.
+	 */
+	private static CacheManager cacheManager(HibernateCacheProperties properties) {
+		CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager(
+				URI.create("employee-l2-cache-" + CACHE_MANAGERS.incrementAndGet()),
+				HibernateCacheConfig.class.getClassLoader());
+		long timeToLive = properties.getTimeToLive().toNanos();
+		cacheManager.createCache(Employee.CACHE_REGION, configuration(properties.getMaximumSize(), timeToLive));
+		cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+				configuration(properties.getQueryMaximumSize(), timeToLive));
+		// evicting update timestamps would let stale query results through, so this region is unbounded
+		cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+				new CaffeineConfiguration<>());
+		return cacheManager;
+	}
+
+	private static CaffeineConfiguration<Object, Object> configuration(long maximumSize, long expireAfterWriteNanos) {
+		CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+		configuration.setMaximumSize(OptionalLong.of(maximumSize));
+		configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWriteNanos));
+		return configuration;
+	}
+}
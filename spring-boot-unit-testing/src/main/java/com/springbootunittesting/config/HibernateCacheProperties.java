@@ -0,0 +1,16 @@
+package com.springbootunittesting.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "employee.l2-cache")
+public class HibernateCacheProperties {
+	private long maximumSize = 10_000;
+	private Duration timeToLive = Duration.ofMinutes(10);
+	// cached results of findByEmail and findEmployeeByFirstNameAndEmail, each holding only ids
+	private long queryMaximumSize = 10_000;
+}
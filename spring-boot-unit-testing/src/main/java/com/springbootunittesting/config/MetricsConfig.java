@@ -0,0 +1,28 @@
+package com.springbootunittesting.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.springbootunittesting.metrics.RequestMetricsInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(prefix = "employee.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig implements WebMvcConfigurer {
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	public MetricsConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		meterRegistry.ifAvailable(
+				meterRegistry -> registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry))
+						.addPathPatterns("/api/**"));
+	}
+}
@@ -0,0 +1,45 @@
+package com.springbootunittesting.config;
+
+import java.time.Duration;
+
+/**
+ * The read-after-write window of the current thread: until when its reads
+ * stay on the primary. A write opens the window only for the thread that made
+ * it, so background writers such as the write-behind queue or the stats
+ * recount do not pull every other reader off the replicas. A client carries
+ * its window from one request to the next through {@link ReadAfterWriteFilter}.
+ */
+public class ReadAfterWrite {
+	private final long windowMillis;
+	// epoch millis, so the window can travel in a cookie
+	private final ThreadLocal<Long> primaryUntil = new ThreadLocal<>();
+
+	public ReadAfterWrite(Duration window) {
+		this.windowMillis = window.toMillis();
+	}
+
+	public long getWindowMillis() {
+		return windowMillis;
+	}
+
+	public void written() {
+		primaryUntil.set(System.currentTimeMillis() + windowMillis);
+	}
+
+	public boolean readFromPrimary() {
+		Long until = primaryUntil.get();
+		return until != null && System.currentTimeMillis() < until;
+	}
+
+	public Long getPrimaryUntil() {
+		return primaryUntil.get();
+	}
+
+	public void setPrimaryUntil(Long until) {
+		if (until == null) {
+			primaryUntil.remove();
+		} else {
+			primaryUntil.set(until);
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package com.springbootunittesting.config;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Carries a client's read-after-write window between its requests. A request
+ * that writes gets a cookie holding the end of its window, set before the
+ * response commits; the client's next requests bring it back and read from
+ * the primary until then. A cookie reaching further than one window is
+ * ignored, so no client can pin itself to the primary.
+ */
+public class ReadAfterWriteFilter extends OncePerRequestFilter {
+	public static final String COOKIE = "employee-primary-until";
+
+	private final ReadAfterWrite readAfterWrite;
+
+	public ReadAfterWriteFilter(ReadAfterWrite readAfterWrite) {
+		this.readAfterWrite = readAfterWrite;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		Long fromClient = primaryUntil(request);
+		readAfterWrite.setPrimaryUntil(fromClient);
+		WindowResponse windowResponse = new WindowResponse(response, fromClient);
+		try {
+			filterChain.doFilter(request, windowResponse);
+			windowResponse.addWindowCookie();
+		} finally {
+			readAfterWrite.setPrimaryUntil(null);
+		}
+	}
+
+	private Long primaryUntil(HttpServletRequest request) {
+		Cookie[] cookies = request.getCookies();
+		if (cookies == null) {
+			return null;
+		}
+		long now = System.currentTimeMillis();
+		for (Cookie cookie : cookies) {
+			if (COOKIE.equals(cookie.getName())) {
+				try {
+					long until = Long.parseLong(cookie.getValue());
+					return until > now && until <= now + readAfterWrite.getWindowMillis() ? until : null;
+				} catch (NumberFormatException e) {
+					return null;
+				}
+			}
+		}
+		return null;
+	}
+
+	// adds the cookie at the last moment headers can still change, when the writes are done
+	private final class WindowResponse extends HttpServletResponseWrapper {
+		private final Long fromClient;
+		private boolean cookieAdded;
+
+		WindowResponse(HttpServletResponse response, Long fromClient) {
+			super(response);
+			this.fromClient = fromClient;
+		}
+
+		void addWindowCookie() {
+			if (cookieAdded || isCommitted()) {
+				return;
+			}
+			cookieAdded = true;
+			Long until = readAfterWrite.getPrimaryUntil();
+			long remaining = until == null ? 0 : until - System.currentTimeMillis();
+			if (remaining <= 0 || until.equals(fromClient)) {
+				return;
+			}
+			ResponseCookie cookie = ResponseCookie.from(COOKIE, until.toString()).path("/").httpOnly(true)
+					.maxAge(Duration.ofSeconds((remaining + 999) / 1000)).build();
+			addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			addWindowCookie();
+			return super.getOutputStream();
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			addWindowCookie();
+			return super.getWriter();
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			addWindowCookie();
+			super.flushBuffer();
+		}
+
+		@Override
+		public void sendError(int sc) throws IOException {
+			addWindowCookie();
+			super.sendError(sc);
+		}
+
+		@Override
+		public void sendError(int sc, String msg) throws IOException {
+			addWindowCookie();
+			super.sendError(sc, msg);
+		}
+
+		@Override
+		public void sendRedirect(String location) throws IOException {
+			addWindowCookie();
+			super.sendRedirect(location);
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.springbootunittesting.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "employee.replicas")
+public class ReplicaProperties {
+	// JDBC urls of the read replicas
+	private List<String> urls = new ArrayList<>();
+	// default to spring.datasource.username and password
+	private String username;
+	private String password;
+	// the writer's reads go to the primary for this long after a write, to cover replication lag
+	private Duration readAfterWrite = Duration.ofSeconds(1);
+}
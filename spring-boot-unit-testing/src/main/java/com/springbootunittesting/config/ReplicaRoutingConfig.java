@@ -0,0 +1,85 @@
+package com.springbootunittesting.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the single DataSource with a primary pool plus one pool per
+ * replica, routed by {@link ReplicaRoutingDataSource}. Read-only service
+ * methods (the list, page, export, search and per-id reads) use the replicas.
+ * Every pool takes its settings from spring.datasource.hikari and reports
+ * the hikaricp metrics tagged with its own pool name. {@link ReadAfterWriteFilter}
+ * keeps each client's reads on the primary for a while after its writes.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(prefix = "employee.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({ DataSourceProperties.class, ReplicaProperties.class })
+public class ReplicaRoutingConfig {
+
+	@Bean
+	public ReadAfterWrite readAfterWrite(ReplicaProperties replicaProperties) {
+		return new ReadAfterWrite(replicaProperties.getReadAfterWrite());
+	}
+
+	@Bean
+	public ReadAfterWriteFilter readAfterWriteFilter(ReadAfterWrite readAfterWrite) {
+		return new ReadAfterWriteFilter(readAfterWrite);
+	}
+
+	@Bean
+	public DataSource dataSource(DataSourceProperties properties, ReplicaProperties replicaProperties,
+			ReadAfterWrite readAfterWrite, Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+		Map<Object, Object> targets = new LinkedHashMap<>();
+		HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		targets.put(ReplicaRoutingDataSource.PRIMARY, primary);
+		List<String> replicas = new ArrayList<>();
+		for (String url : replicaProperties.getUrls()) {
+			String name = "replica-" + (replicas.size() + 1);
+			HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url)
+					.username(replicaProperties.getUsername() != null ? replicaProperties.getUsername()
+							: properties.determineUsername())
+					.password(replicaProperties.getPassword() != null ? replicaProperties.getPassword()
+							: properties.determinePassword())
+					.build();
+			replica.setReadOnly(true);
+			targets.put(name, replica);
+			replicas.add(name);
+		}
+		Binder binder = Binder.get(environment);
+		targets.forEach((name, target) -> {
+			HikariDataSource pool = (HikariDataSource) target;
+			binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+			pool.setPoolName((String) name);
+			meterRegistry
+					.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+		});
+		ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(replicas, readAfterWrite);
+		routingDataSource.setTargetDataSources(targets);
+		routingDataSource.setDefaultTargetDataSource(primary);
+		routingDataSource.afterPropertiesSet();
+		return new LazyConnectionDataSourceProxy(routingDataSource);
+	}
+}
@@ -0,0 +1,56 @@
+package com.springbootunittesting.config;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for read-only transactions to the replicas in turn and
+ * everything else to the primary. After a write, the writer's reads stay on
+ * the primary for the read-after-write window, so a client reading what it
+ * just wrote is not served by a replica that has not caught up yet. Everyone
+ * else keeps reading from the replicas.
+ *
+ * The read-only flag is only set once the transaction has begun, so this data
+ * source must sit behind a LazyConnectionDataSourceProxy, which fetches the
+ * connection on the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+	public static final String PRIMARY = "primary";
+
+	private final List<String> replicas;
+	private final ReadAfterWrite readAfterWrite;
+	private final AtomicInteger next = new AtomicInteger();
+
+	public ReplicaRoutingDataSource(List<String> replicas, ReadAfterWrite readAfterWrite) {
+		this.replicas = List.copyOf(replicas);
+		this.readAfterWrite = readAfterWrite;
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			// connections outside a transaction, like the proxy's first look at the defaults, write nothing
+			if (TransactionSynchronizationManager.isActualTransactionActive()) {
+				readAfterWrite.written();
+				if (TransactionSynchronizationManager.isSynchronizationActive()) {
+					// the window starts again when the write commits
+					TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+						@Override
+						public void afterCompletion(int status) {
+							readAfterWrite.written();
+						}
+					});
+				}
+			}
+			return PRIMARY;
+		}
+		if (replicas.isEmpty() || readAfterWrite.readFromPrimary()) {
+			return PRIMARY;
+		}
+		return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+	}
+}
@@ -0,0 +1,70 @@
+package com.springbootunittesting.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs the startup steps that took longest once the application is ready,
+ * when startup was recorded with -Demployee.startup.timeline=true. Steps are
+ * ranked by their own time, without the steps nested in them, so a bean is
+ * not blamed for the dependencies it caused to be created. Hibernate's
+ * bootstrap shows up as the entityManagerFactory bean. The full timeline
+ * stays available at /actuator/startup.
+ */
+@Component
+public class StartupTimelineReport {
+	private static final Logger log = LoggerFactory.getLogger(StartupTimelineReport.class);
+
+	@Value("${employee.startup.timeline-steps:20}")
+	private int steps = 20;
+
+	@EventListener
+	public void onReady(ApplicationReadyEvent event) {
+		if (!(event.getSpringApplication().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+			return;
+		}
+		List<TimelineEvent> events = startup.getBufferedTimeline().getEvents();
+		log.info("Slowest startup steps, by own time:\n{}", report(events, steps));
+	}
+
+	static String report(List<TimelineEvent> events, int steps) {
+		Map<Long, Long> nestedNanos = new HashMap<>();
+		for (TimelineEvent event : events) {
+			Long parentId = event.getStartupStep().getParentId();
+			if (parentId != null) {
+				nestedNanos.merge(parentId, event.getDuration().toNanos(), Long::sum);
+			}
+		}
+		List<String> lines = new ArrayList<>();
+		events.stream()
+				.sorted((a, b) -> Long.compare(ownNanos(b, nestedNanos), ownNanos(a, nestedNanos)))
+				.limit(steps)
+				.forEach(event -> lines.add(String.format("%8.1f ms own %8.1f ms total  %s %s",
+						ownNanos(event, nestedNanos) / 1e6, event.getDuration().toNanos() / 1e6,
+						event.getStartupStep().getName(), tags(event.getStartupStep()))));
+		return String.join("\n", lines);
+	}
+
+	private static long ownNanos(TimelineEvent event, Map<Long, Long> nestedNanos) {
+		return event.getDuration().toNanos() - nestedNanos.getOrDefault(event.getStartupStep().getId(), 0L);
+	}
+
+	private static String tags(StartupStep step) {
+		return StreamSupport.stream(step.getTags().spliterator(), false)
+				.map(tag -> tag.getKey() + "=" + tag.getValue()).collect(Collectors.joining(", ", "[", "]"));
+	}
+}
@@ -0,0 +1,98 @@
+package com.springbootunittesting.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.springbootunittesting.dto.EmployeeChangeEvent;
+import com.springbootunittesting.service.EmployeeChangeFeed;
+
+@RestController
+@RequestMapping("/api/employees")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(prefix = "employee.feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeChangeFeedController {
+	private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+	@Autowired
+	private EmployeeChangeFeed changeFeed;
+	@Value("${employee.feed.timeout:30m}")
+	private Duration timeout = Duration.ofMinutes(30);
+
+	public EmployeeChangeFeedController(EmployeeChangeFeed changeFeed) {
+		this.changeFeed = changeFeed;
+	}
+
+	/**
+	 * Streams employee changes as server-sent events. Without Last-Event-ID (or
+	 * the after parameter) only changes made from now on are sent.
+	 */
+	@GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> streamChanges(
+			@RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId,
+			@RequestParam(required = false) Long after) {
+		long from = lastEventId != null ? lastEventId : after != null ? after : changeFeed.getLastSequence();
+		SseEmitter emitter = new SseEmitter(timeout.toMillis());
+		if (!changeFeed.subscribe(from, new SseSubscriber(emitter))) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+		}
+		return ResponseEntity.ok(emitter);
+	}
+
+	private static class SseSubscriber implements EmployeeChangeFeed.Subscriber {
+		private final SseEmitter emitter;
+		private volatile boolean cancelled;
+
+		SseSubscriber(SseEmitter emitter) {
+			this.emitter = emitter;
+			emitter.onCompletion(() -> cancelled = true);
+			emitter.onTimeout(() -> cancelled = true);
+			emitter.onError(e -> cancelled = true);
+		}
+
+		@Override
+		public void send(EmployeeChangeEvent event) throws IOException {
+			emitter.send(SseEmitter.event().id(Long.toString(event.getSequence())).data(event,
+					MediaType.APPLICATION_JSON));
+		}
+
+		@Override
+		public void lagged(long missedAfter, long resumeFrom) throws IOException {
+			emitter.send(SseEmitter.event().name("lagged")
+					.data(new Lag(missedAfter, resumeFrom), MediaType.APPLICATION_JSON));
+		}
+
+		@Override
+		public void heartbeat() throws IOException {
+			emitter.send(SseEmitter.event().comment("heartbeat"));
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public void close() {
+			emitter.complete();
+		}
+	}
+
+	private record Lag(long missedAfter, long resumeFrom) {
+	}
+}
@@ -1,37 +1,101 @@
 package com.springbootunittesting.controller;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springbootunittesting.dto.EmployeeBatchResult;
+import com.springbootunittesting.dto.EmployeeBulkRequest;
+import com.springbootunittesting.dto.EmployeeBulkResult;
+import com.springbootunittesting.dto.EmployeePage;
+import com.springbootunittesting.dto.EmployeeWriteStatus;
 import com.springbootunittesting.entity.Employee;
 import com.springbootunittesting.service.EmployeeService;
+import com.springbootunittesting.service.EmployeeWriteBehindQueue;
+import com.springbootunittesting.util.EmployeeCsv;
 
 @RestController
 @RequestMapping("/api/employees")
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class EmployeeController {
 	@Autowired
 	private EmployeeService employeeService;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired(required = false)
+	private EmployeeWriteBehindQueue writeBehindQueue;
 
 	public EmployeeController(EmployeeService employeeService) {
 		this.employeeService = employeeService;
 	}
 
 	@PostMapping
-	@ResponseStatus(HttpStatus.CREATED)
-	public Employee createEmployee(@RequestBody Employee employee) {
-		return employeeService.saveEmployee(employee);
+	public ResponseEntity<?> createEmployee(@RequestBody Employee employee) {
+		if (writeBehindQueue != null) {
+			EmployeeWriteStatus status = writeBehindQueue.submit(employee);
+			return ResponseEntity.accepted().location(URI.create("/api/employees/writes/" + status.getTrackingId()))
+					.body(status);
+		}
+		return ResponseEntity.status(HttpStatus.CREATED).body(employeeService.saveEmployee(employee));
+	}
+
+	@GetMapping("/writes/{trackingId}")
+	public ResponseEntity<EmployeeWriteStatus> getWriteStatus(@PathVariable String trackingId) {
+		EmployeeWriteStatus status = writeBehindQueue == null ? null : writeBehindQueue.getStatus(trackingId);
+		return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+	}
+
+	@PostMapping("/batch")
+	public EmployeeBatchResult createEmployees(@RequestBody List<Employee> employees) {
+		return employeeService.saveEmployees(employees);
+	}
+
+	@PutMapping("/batch/email-domain")
+	public ResponseEntity<EmployeeBulkResult> updateEmailDomain(@RequestBody EmployeeBulkRequest request) {
+		if (request.getIds() == null || request.getDomain() == null || request.getDomain().isBlank()
+				|| request.getDomain().contains("@")) {
+			return ResponseEntity.badRequest().build();
+		}
+		return ResponseEntity.ok(employeeService.updateEmailDomain(request.getIds(), request.getDomain()));
+	}
+
+	@PostMapping("/batch/delete")
+	public ResponseEntity<EmployeeBulkResult> deleteEmployees(@RequestBody EmployeeBulkRequest request) {
+		if (request.getIds() == null) {
+			return ResponseEntity.badRequest().build();
+		}
+		return ResponseEntity.ok(employeeService.deleteEmployees(request.getIds()));
 	}
 
 	@GetMapping
@@ -39,20 +103,156 @@ public class EmployeeController {
 		return employeeService.getAllEmployees();
 	}
 
+	@GetMapping(params = "limit")
+	public EmployeePage getEmployees(@RequestParam(required = false) Long after, @RequestParam int limit) {
+		return employeeService.getEmployees(after, limit);
+	}
+
+	@GetMapping(params = "ids")
+	public ResponseEntity<?> getEmployeesById(@RequestParam List<Long> ids) {
+		try {
+			return ResponseEntity.ok(employeeService.getEmployeesById(ids));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	@GetMapping("/search")
+	public List<Employee> searchEmployees(@RequestParam("q") String query,
+			@RequestParam(defaultValue = "10") int limit) {
+		return employeeService.searchEmployees(query, limit);
+	}
+
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "ndjson") String format) {
+		if ("csv".equalsIgnoreCase(format)) {
+			return ResponseEntity.ok().contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+					.body(this::writeCsv);
+		}
+		if ("ndjson".equalsIgnoreCase(format)) {
+			return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(this::writeNdjson);
+		}
+		return ResponseEntity.badRequest().build();
+	}
+
+	// with a matching If-None-Match, the ETag lets Spring answer 304 without serializing the employee
 	@GetMapping("/{id}")
 	public ResponseEntity<Employee> getEmployee(@PathVariable Long id) {
-		return employeeService.getEmployee(id).map(ResponseEntity::ok)
+		return employeeService.getEmployee(id).map(EmployeeController::withETag)
 				.orElseGet(() -> ResponseEntity.notFound().build());
 	}
 
 	@PutMapping("/{id}")
-	public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @RequestBody Employee employee) {
-		return ResponseEntity.ok(employeeService.updateEmployee(id, employee));
+	public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @RequestBody Employee employee,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		if (ifMatch != null) {
+			employee.setVersion(ifMatchVersion(id, ifMatch));
+		}
+		return conditional(ifMatch, () -> withETag(employeeService.updateEmployee(id, employee)));
+	}
+
+	@PatchMapping("/{id}")
+	public ResponseEntity<Employee> patchEmployee(@PathVariable Long id, @RequestBody Employee changes,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		if (ifMatch != null) {
+			changes.setVersion(ifMatchVersion(id, ifMatch));
+		}
+		return conditional(ifMatch, () -> withETag(employeeService.patchEmployee(id, changes)));
 	}
 
 	@DeleteMapping("/{id}")
-	public ResponseEntity<String> deleteEmployee(@PathVariable Long id) {
-		employeeService.deleteEmployee(id);
-		return ResponseEntity.ok("Employee with id " + id + " deleted successfully");
+	public ResponseEntity<String> deleteEmployee(@PathVariable Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		return conditional(ifMatch, () -> {
+			if (ifMatch == null) {
+				employeeService.deleteEmployee(id);
+			} else {
+				employeeService.deleteEmployee(id, ifMatchVersion(id, ifMatch));
+			}
+			return ResponseEntity.ok("Employee with id " + id + " deleted successfully");
+		});
+	}
+
+	private static ResponseEntity<Employee> withETag(Employee employee) {
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (employee.getVersion() != null) {
+			response.eTag(employee.getVersion().toString());
+		}
+		return response.body(employee);
+	}
+
+	/**
+	 * Version named by an If-Match header; "*" matches any version and a tag that
+	 * is not one of ours never matches. A list of tags matches when any of them
+	 * names the current version.
+	 */
+	private Long ifMatchVersion(Long id, String ifMatch) {
+		List<Long> versions = new ArrayList<>();
+		for (String part : ifMatch.split(",")) {
+			String tag = part.trim();
+			if (tag.equals("*")) {
+				return null;
+			}
+			if (tag.startsWith("W/")) {
+				tag = tag.substring(2);
+			}
+			try {
+				versions.add(Long.valueOf(tag.replace("\"", "")));
+			} catch (NumberFormatException e) {
+				// not one of ours
+			}
+		}
+		if (versions.size() == 1) {
+			return versions.get(0);
+		}
+		if (versions.size() > 1) {
+			// the write still checks the version, so a change made since this read answers 412
+			Long current = employeeService.getEmployee(id).map(Employee::getVersion).orElse(null);
+			if (current != null && versions.contains(current)) {
+				return current;
+			}
+		}
+		return -1L;
+	}
+
+	/**
+	 * Runs a write and answers a version conflict with 412 when the client made
+	 * the write conditional; otherwise the conflict propagates (409).
+	 */
+	private static <T> ResponseEntity<T> conditional(String ifMatch, Supplier<ResponseEntity<T>> write) {
+		try {
+			return write.get();
+		} catch (OptimisticLockingFailureException e) {
+			if (ifMatch == null) {
+				throw e;
+			}
+			return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+		}
+	}
+
+	private void writeCsv(OutputStream outputStream) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		writer.write(EmployeeCsv.HEADER);
+		employeeService.exportEmployees(employee -> {
+			try {
+				writer.write(EmployeeCsv.toLine(employee));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		writer.flush();
+	}
+
+	private void writeNdjson(OutputStream outputStream) throws IOException {
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream).setRootValueSeparator(null);
+		employeeService.exportEmployees(employee -> {
+			try {
+				generator.writeObject(employee);
+				generator.writeRaw('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		generator.flush();
 	}
 }
@@ -0,0 +1,40 @@
+package com.springbootunittesting.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.springbootunittesting.service.EmployeeImportService;
+
+@RestController
+@RequestMapping("/api/employees")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class EmployeeImportController {
+	@Autowired
+	private EmployeeImportService importService;
+
+	public EmployeeImportController(EmployeeImportService importService) {
+		this.importService = importService;
+	}
+
+	// the body is read as it arrives, so uploads of any size are fine
+	@PostMapping(path = "/import", consumes = "text/csv")
+	public ResponseEntity<?> importEmployees(InputStream body) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 1 << 16);
+		try {
+			return ResponseEntity.ok(importService.importCsv(reader));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+}
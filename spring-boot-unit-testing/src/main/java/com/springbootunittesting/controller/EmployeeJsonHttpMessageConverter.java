@@ -0,0 +1,108 @@
+package com.springbootunittesting.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.service.EmployeeJsonCache;
+import com.springbootunittesting.util.EmployeeJson;
+
+/**
+ * Writes employees and collections of employees as JSON without going through
+ * Jackson's bean serializers. A single employee is written from the encoded
+ * bytes in the {@link EmployeeJsonCache}, encoding and caching it on a miss.
+ * Collections are streamed through one generator; cached employees are copied
+ * in as raw bytes and the rest are written field by field without being
+ * cached, so a large list does not push out the hot single lookups.
+ * Everything else, and all reading, is left to the Jackson converter.
+ */
+public class EmployeeJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+	private final JsonFactory jsonFactory;
+	private final EmployeeJsonCache jsonCache;
+
+	public EmployeeJsonHttpMessageConverter(JsonFactory jsonFactory, EmployeeJsonCache jsonCache) {
+		super(MediaType.APPLICATION_JSON);
+		this.jsonFactory = jsonFactory;
+		this.jsonCache = jsonCache;
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return Employee.class.isAssignableFrom(clazz);
+	}
+
+	@Override
+	public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+		return false;
+	}
+
+	@Override
+	public boolean canRead(Class<?> clazz, MediaType mediaType) {
+		return false;
+	}
+
+	@Override
+	public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+		return canWrite(mediaType) && (supports(clazz) || isEmployeeCollection(type));
+	}
+
+	private static boolean isEmployeeCollection(Type type) {
+		if (type == null) {
+			return false;
+		}
+		ResolvableType collection = ResolvableType.forType(type).as(Collection.class);
+		Class<?> element = collection.resolveGeneric(0);
+		return element != null && Employee.class.isAssignableFrom(element);
+	}
+
+	@Override
+	protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+		OutputStream body = outputMessage.getBody();
+		if (value instanceof Employee employee) {
+			body.write(jsonCache.get(employee).asUnquotedUTF8());
+			return;
+		}
+		// closing the generator hands its buffers back for reuse; the response stream stays open
+		try (JsonGenerator generator = jsonFactory.createGenerator(StreamUtils.nonClosing(body), JsonEncoding.UTF8)) {
+			generator.writeStartArray();
+			for (Object element : (Collection<?>) value) {
+				if (element == null) {
+					generator.writeNull();
+					continue;
+				}
+				Employee employee = (Employee) element;
+				SerializableString cached = jsonCache.getIfPresent(employee);
+				if (cached != null) {
+					generator.writeRawValue(cached);
+				} else {
+					EmployeeJson.write(generator, employee);
+				}
+			}
+			generator.writeEndArray();
+		}
+	}
+
+	@Override
+	public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+		throw new HttpMessageNotReadableException("Employees are read by the Jackson converter", inputMessage);
+	}
+
+	@Override
+	protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+		throw new HttpMessageNotReadableException("Employees are read by the Jackson converter", inputMessage);
+	}
+}
@@ -0,0 +1,31 @@
+package com.springbootunittesting.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.springbootunittesting.dto.EmployeeStats;
+import com.springbootunittesting.service.EmployeeStatsCounter;
+
+@RestController
+@RequestMapping("/api/employees")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(prefix = "employee.stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeStatsController {
+	@Autowired
+	private EmployeeStatsCounter statsCounter;
+
+	public EmployeeStatsController(EmployeeStatsCounter statsCounter) {
+		this.statsCounter = statsCounter;
+	}
+
+	@GetMapping("/stats")
+	public EmployeeStats getStats(@RequestParam(required = false) String domain) {
+		return domain == null ? statsCounter.getStats() : statsCounter.getStats(domain);
+	}
+}
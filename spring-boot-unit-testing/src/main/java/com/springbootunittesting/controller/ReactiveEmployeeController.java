@@ -0,0 +1,68 @@
+package com.springbootunittesting.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.service.ReactiveEmployeeService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux implementation of the /api/employees contract, active when the
+ * application runs as a reactive web application (the "reactive" profile).
+ * getAllEmployees streams rows with backpressure; ask for application/x-ndjson
+ * to receive them one per line as they are read.
+ */
+@RestController
+@RequestMapping("/api/employees")
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveEmployeeController {
+	@Autowired
+	private ReactiveEmployeeService employeeService;
+
+	public ReactiveEmployeeController(ReactiveEmployeeService employeeService) {
+		this.employeeService = employeeService;
+	}
+
+	@PostMapping
+	@ResponseStatus(HttpStatus.CREATED)
+	public Mono<Employee> createEmployee(@RequestBody Employee employee) {
+		return employeeService.saveEmployee(employee);
+	}
+
+	@GetMapping
+	public Flux<Employee> getAllEmployees() {
+		return employeeService.getAllEmployees();
+	}
+
+	@GetMapping("/{id}")
+	public Mono<ResponseEntity<Employee>> getEmployee(@PathVariable Long id) {
+		return employeeService.getEmployee(id).map(ResponseEntity::ok)
+				.defaultIfEmpty(ResponseEntity.notFound().build());
+	}
+
+	@PutMapping("/{id}")
+	public Mono<ResponseEntity<Employee>> updateEmployee(@PathVariable Long id, @RequestBody Employee employee) {
+		return employeeService.updateEmployee(id, employee).map(ResponseEntity::ok);
+	}
+
+	@DeleteMapping("/{id}")
+	public Mono<ResponseEntity<String>> deleteEmployee(@PathVariable Long id) {
+		return employeeService.deleteEmployee(id)
+				.thenReturn(ResponseEntity.ok("Employee with id " + id + " deleted successfully"));
+	}
+}
@@ -0,0 +1,18 @@
+package com.springbootunittesting.dto;
+
+import java.util.List;
+
+import com.springbootunittesting.entity.Employee;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBatchResult {
+	private List<Employee> accepted;
+	// rows whose email already exists in the table or earlier in the same batch
+	private List<Employee> rejected;
+}
@@ -0,0 +1,16 @@
+package com.springbootunittesting.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBulkRequest {
+	private List<Long> ids;
+	// new email domain for the email-domain update, ignored by delete
+	private String domain;
+}
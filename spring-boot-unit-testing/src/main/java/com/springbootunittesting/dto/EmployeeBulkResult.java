@@ -0,0 +1,14 @@
+package com.springbootunittesting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBulkResult {
+	private int requested;
+	// ids that no longer exist are not counted
+	private int affected;
+}
@@ -0,0 +1,23 @@
+package com.springbootunittesting.dto;
+
+import com.springbootunittesting.entity.Employee;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangeEvent {
+	public enum Type {
+		CREATED, UPDATED, DELETED
+	}
+
+	// increases by one per event; clients resume from it with Last-Event-ID
+	private long sequence;
+	private Type type;
+	private Long employeeId;
+	// the employee as written, null for DELETED
+	private Employee employee;
+}
@@ -0,0 +1,14 @@
+package com.springbootunittesting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeDomainCount {
+	// the part of the email after the first '@', lower-cased
+	private String domain;
+	private Long employees;
+}
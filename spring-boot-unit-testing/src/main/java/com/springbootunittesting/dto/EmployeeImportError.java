@@ -0,0 +1,14 @@
+package com.springbootunittesting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeImportError {
+	// line of the CSV file the rejected row starts on, the header being line 1
+	private long line;
+	private String message;
+}
@@ -0,0 +1,19 @@
+package com.springbootunittesting.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeImportReport {
+	private long rows;
+	private long imported;
+	private long rejected;
+	// the first employee.import.max-errors rejected rows; rejected counts them all
+	private List<EmployeeImportError> errors = new ArrayList<>();
+}
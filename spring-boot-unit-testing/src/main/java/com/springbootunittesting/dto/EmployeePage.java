@@ -0,0 +1,18 @@
+package com.springbootunittesting.dto;
+
+import java.util.List;
+
+import com.springbootunittesting.entity.Employee;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePage {
+	private List<Employee> employees;
+	// id to pass as "after" for the next page, null when this is the last page
+	private Long nextCursor;
+}
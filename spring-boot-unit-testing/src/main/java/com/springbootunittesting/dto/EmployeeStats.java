@@ -0,0 +1,19 @@
+package com.springbootunittesting.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeStats {
+	private long total;
+	// employees per email domain, largest first
+	private Map<String, Long> domains;
+	// when the counts were last checked against the database; null until the first check finishes
+	private Instant reconciledAt;
+}
@@ -0,0 +1,13 @@
+package com.springbootunittesting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeVersion {
+	private Long id;
+	private Long version;
+}
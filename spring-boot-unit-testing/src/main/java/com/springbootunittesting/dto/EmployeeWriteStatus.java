@@ -0,0 +1,21 @@
+package com.springbootunittesting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeWriteStatus {
+	public enum State {
+		PENDING, CREATED, REJECTED, FAILED
+	}
+
+	private String trackingId;
+	private State state;
+	// set once the employee is CREATED
+	private Long employeeId;
+	// why the write was REJECTED or FAILED
+	private String message;
+}
@@ -1,11 +1,23 @@
 package com.springbootunittesting.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+import com.springbootunittesting.metrics.EmployeeHydrationListener;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,10 +28,22 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "employees")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employee.CACHE_REGION)
+@EntityListeners(EmployeeHydrationListener.class)
+@Table(name = "employees", uniqueConstraints = @UniqueConstraint(name = Employee.EMAIL_CONSTRAINT,
+		columnNames = "email"), indexes = { @Index(name = "idx_employees_first_name", columnList = "firstName, lastName"),
+				@Index(name = "idx_employees_last_name", columnList = "lastName") })
 public class Employee {
+	public static final String EMAIL_CONSTRAINT = "uk_employees_email";
+	public static final String CACHE_REGION = "employees";
+	public static final String ID_SEQUENCE = "employees_seq";
+	public static final int ID_ALLOCATION_SIZE = 50;
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = Employee.ID_SEQUENCE)
+	@SequenceGenerator(name = Employee.ID_SEQUENCE, sequenceName = Employee.ID_SEQUENCE,
+			allocationSize = Employee.ID_ALLOCATION_SIZE)
 	private Long id;
 	@Column(nullable = false)
 	private String firstName;
@@ -27,4 +51,9 @@ public class Employee {
 	private String lastName;
 	@Column(nullable = false)
 	private String email;
+	// the default lets schema updates add the column to tables that already hold rows
+	@Version
+	@ColumnDefault("0")
+	@Column(nullable = false)
+	private Long version;
 }
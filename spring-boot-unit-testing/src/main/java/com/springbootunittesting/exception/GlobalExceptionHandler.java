@@ -1,15 +1,64 @@
 package com.springbootunittesting.exception;
 
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+/**
+ * Maps expected failures to RFC 7807 problem details. The bodies are fixed
+ * per failure and serialized once, so an error response costs no more than a
+ * cached one; the specific id or email is what the client just sent. A
+ * conflict other than the single duplicate email keeps its own detail.
+ */
 @ControllerAdvice
 public class GlobalExceptionHandler {
+	private static final String EXISTS_DETAIL = "Employee already exists with given email";
+	private static final byte[] NOT_FOUND = problem(HttpStatus.NOT_FOUND, "Employee does not exist");
+	private static final byte[] EXISTS = problem(HttpStatus.CONFLICT, EXISTS_DETAIL);
+	private static final byte[] CHANGED = problem(HttpStatus.CONFLICT,
+			"Employee was changed by another request, reload it and retry");
+	private static final byte[] QUEUE_FULL = problem(HttpStatus.TOO_MANY_REQUESTS,
+			"Employee write queue is full, retry later");
 
 	@ExceptionHandler(ResourceNotFoundException.class)
-	public ResponseEntity<String> handleResourceNotFoundException(ResourceNotFoundException e) {
-		return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+	public ResponseEntity<byte[]> handleResourceNotFoundException() {
+		return respond(HttpStatus.NOT_FOUND, NOT_FOUND);
+	}
+
+	@ExceptionHandler(ResourceExistsException.class)
+	public ResponseEntity<byte[]> handleResourceExistsException(ResourceExistsException e) {
+		if (e.getMessage() == null || e.getMessage().startsWith(EXISTS_DETAIL)) {
+			return respond(HttpStatus.CONFLICT, EXISTS);
+		}
+		return respond(HttpStatus.CONFLICT, problem(HttpStatus.CONFLICT,
+				new String(JsonStringEncoder.getInstance().quoteAsString(e.getMessage()))));
+	}
+
+	@ExceptionHandler(WriteQueueFullException.class)
+	public ResponseEntity<byte[]> handleWriteQueueFullException() {
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1")
+				.contentType(MediaType.APPLICATION_PROBLEM_JSON).body(QUEUE_FULL);
+	}
+
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ResponseEntity<byte[]> handleOptimisticLockingFailureException() {
+		return respond(HttpStatus.CONFLICT, CHANGED);
+	}
+
+	private static ResponseEntity<byte[]> respond(HttpStatus status, byte[] body) {
+		return ResponseEntity.status(status).contentType(MediaType.APPLICATION_PROBLEM_JSON).body(body);
+	}
+
+	private static byte[] problem(HttpStatus status, String detail) {
+		return ("{\"type\":\"about:blank\",\"title\":\"" + status.getReasonPhrase() + "\",\"status\":" + status.value()
+				+ ",\"detail\":\"" + detail + "\"}").getBytes(StandardCharsets.UTF_8);
 	}
 }
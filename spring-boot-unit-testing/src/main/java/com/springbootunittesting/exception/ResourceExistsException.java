@@ -5,11 +5,10 @@ public class ResourceExistsException extends RuntimeException {
 	 * 
 	 */
 	private static final long serialVersionUID = 1L;
-	String message;
 
+	// stackless like ResourceNotFoundException, duplicates are an expected outcome
 	public ResourceExistsException(String message) {
-		super();
-		this.message = message;
+		super(message, null, false, false);
 	}
 
 }
@@ -5,11 +5,10 @@ public class ResourceNotFoundException extends RuntimeException {
 	 * 
 	 */
 	private static final long serialVersionUID = 1L;
-	String message;
 
+	// stackless: it is thrown for every unknown id and only its message is ever used
 	public ResourceNotFoundException(String message) {
-		super();
-		this.message = message;
+		super(message, null, false, false);
 	}
 
 }
@@ -0,0 +1,13 @@
+package com.springbootunittesting.exception;
+
+public class WriteQueueFullException extends RuntimeException {
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public WriteQueueFullException(String message) {
+		super(message, null, false, false);
+	}
+
+}
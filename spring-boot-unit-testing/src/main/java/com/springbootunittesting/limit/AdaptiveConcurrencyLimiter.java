@@ -0,0 +1,109 @@
+package com.springbootunittesting.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that follows observed latency, after the gradient
+ * algorithm of Netflix's concurrency-limits. It compares a short-term average
+ * of response times with a long-term one: while they agree the limit grows
+ * by about its square root, and once recent requests get slower than the
+ * long-term average by more than the tolerance, the limit shrinks in
+ * proportion. Requests over the limit are refused at once instead of queuing
+ * for a database that is already saturated.
+ *
+ * The limit only grows from samples taken while at least half of it was in
+ * use, so a quiet period does not raise it to the maximum.
+ */
+public class AdaptiveConcurrencyLimiter {
+	private static final double SHORT_WINDOW_ALPHA = 2.0 / (10 + 1);
+	private static final double LONG_WINDOW_ALPHA = 2.0 / (600 + 1);
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double smoothing;
+	private final double tolerance;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final LongAdder rejected = new LongAdder();
+	private volatile int limit;
+	// guarded by this
+	private double estimatedLimit;
+	private double shortRtt;
+	private double longRtt;
+
+	public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing,
+			double tolerance) {
+		if (minLimit < 1 || maxLimit < minLimit) {
+			throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max, got " + minLimit + ".." + maxLimit);
+		}
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.smoothing = smoothing;
+		this.tolerance = tolerance;
+		this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+		this.limit = (int) estimatedLimit;
+	}
+
+	public boolean tryAcquire() {
+		for (;;) {
+			int current = inFlight.get();
+			if (current >= limit) {
+				rejected.increment();
+				return false;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Ends a request admitted by {@link #tryAcquire} and learns from its
+	 * response time.
+	 */
+	public void release(long rttNanos) {
+		int inFlightBefore = inFlight.getAndDecrement();
+		onSample(rttNanos, inFlightBefore);
+	}
+
+	/**
+	 * Ends a request without learning from it, for failures whose timing says
+	 * nothing about the load.
+	 */
+	public void releaseIgnored() {
+		inFlight.decrementAndGet();
+	}
+
+	private synchronized void onSample(long rttNanos, int inFlightBefore) {
+		if (longRtt == 0) {
+			shortRtt = rttNanos;
+			longRtt = rttNanos;
+		}
+		shortRtt += (rttNanos - shortRtt) * SHORT_WINDOW_ALPHA;
+		longRtt += (rttNanos - longRtt) * LONG_WINDOW_ALPHA;
+		// after a slow spell, let the long-term average come back down quickly
+		if (longRtt / shortRtt > 2) {
+			longRtt *= 0.95;
+		}
+		if (inFlightBefore < estimatedLimit / 2) {
+			return;
+		}
+		double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+		double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+		estimatedLimit = Math.max(minLimit,
+				Math.min(maxLimit, (1 - smoothing) * estimatedLimit + smoothing * newLimit));
+		limit = (int) estimatedLimit;
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	public long getRejected() {
+		return rejected.sum();
+	}
+}
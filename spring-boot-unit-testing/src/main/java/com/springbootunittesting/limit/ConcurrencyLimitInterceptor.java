@@ -0,0 +1,76 @@
+package com.springbootunittesting.limit;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits employee API requests through one limiter for reads and another for
+ * writes, so a burst of slow writes cannot starve reads and the other way
+ * round. Refused requests get 503 with Retry-After before the request body is
+ * read. Server errors release their slot without being sampled, since a fast
+ * failure would otherwise look like spare capacity.
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+	private static final String STARTED = ConcurrencyLimitInterceptor.class.getName() + ".started";
+	private static final String LIMITER = ConcurrencyLimitInterceptor.class.getName() + ".limiter";
+	private static final byte[] OVERLOADED = ("{\"type\":\"about:blank\",\"title\":\"Service Unavailable\","
+			+ "\"status\":503,\"detail\":\"Too many concurrent employee requests, retry later\"}")
+			.getBytes(StandardCharsets.UTF_8);
+
+	private final AdaptiveConcurrencyLimiter readLimiter;
+	private final AdaptiveConcurrencyLimiter writeLimiter;
+	private final String retryAfter;
+
+	public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter readLimiter,
+			AdaptiveConcurrencyLimiter writeLimiter, long retryAfterSeconds) {
+		this.readLimiter = readLimiter;
+		this.writeLimiter = writeLimiter;
+		this.retryAfter = Long.toString(retryAfterSeconds);
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+			throws IOException {
+		AdaptiveConcurrencyLimiter limiter = isRead(request) ? readLimiter : writeLimiter;
+		if (!limiter.tryAcquire()) {
+			response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+			response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+			response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+			response.setContentLength(OVERLOADED.length);
+			response.getOutputStream().write(OVERLOADED);
+			return false;
+		}
+		request.setAttribute(STARTED, System.nanoTime());
+		request.setAttribute(LIMITER, limiter);
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		AdaptiveConcurrencyLimiter limiter = (AdaptiveConcurrencyLimiter) request.getAttribute(LIMITER);
+		if (limiter == null) {
+			return;
+		}
+		request.removeAttribute(LIMITER);
+		if (ex != null || response.getStatus() >= 500) {
+			limiter.releaseIgnored();
+		} else {
+			limiter.release(System.nanoTime() - (Long) request.getAttribute(STARTED));
+		}
+	}
+
+	private static boolean isRead(HttpServletRequest request) {
+		String method = request.getMethod();
+		return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+	}
+}
@@ -0,0 +1,11 @@
+package com.springbootunittesting.metrics;
+
+import jakarta.persistence.PostLoad;
+
+public class EmployeeHydrationListener {
+
+	@PostLoad
+	public void postLoad(Object entity) {
+		RequestMetrics.entityHydrated();
+	}
+}
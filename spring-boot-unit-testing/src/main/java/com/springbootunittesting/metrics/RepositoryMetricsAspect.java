@@ -0,0 +1,70 @@
+package com.springbootunittesting.metrics;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records how many rows each EmployeeRepository method returns. Latency is
+ * already timed by Spring Boot as spring.data.repository.invocations.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "employee.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryMetricsAspect {
+	private final MeterRegistry meterRegistry;
+	// registered once per method, not looked up in the registry on every call
+	private final ConcurrentMap<String, DistributionSummary> rowsByMethod = new ConcurrentHashMap<>();
+
+	public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Around("execution(* com.springbootunittesting.repository.EmployeeRepository.*(..))")
+	public Object recordRows(ProceedingJoinPoint joinPoint) throws Throwable {
+		Object result = joinPoint.proceed();
+		DistributionSummary rows = rowsByMethod.computeIfAbsent(joinPoint.getSignature().getName(),
+				method -> DistributionSummary.builder("employee.repository.rows").tag("method", method)
+						.publishPercentileHistogram().register(meterRegistry));
+		if (result instanceof Stream<?> stream) {
+			AtomicLong count = new AtomicLong();
+			return stream.peek(row -> count.incrementAndGet()).onClose(() -> {
+				rows.record(count.get());
+				RequestMetrics.rowsReturned(count.get());
+			});
+		}
+		long count = countRows(result);
+		rows.record(count);
+		RequestMetrics.rowsReturned(count);
+		return result;
+	}
+
+	private static long countRows(Object result) {
+		if (result == null) {
+			return 0;
+		}
+		if (result instanceof Collection<?> collection) {
+			return collection.size();
+		}
+		if (result instanceof Optional<?> optional) {
+			return optional.isPresent() ? 1 : 0;
+		}
+		if (result instanceof Slice<?> slice) {
+			return slice.getNumberOfElements();
+		}
+		return 1;
+	}
+}
@@ -0,0 +1,49 @@
+package com.springbootunittesting.metrics;
+
+/**
+ * Per-request tallies of repository rows and hydrated entities, kept in a
+ * thread local between {@link RequestMetricsInterceptor#preHandle} and
+ * {@link RequestMetricsInterceptor#afterCompletion}. Calls outside a tracked
+ * request are ignored.
+ */
+public final class RequestMetrics {
+	private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+	private long rowsReturned;
+	private long entitiesHydrated;
+
+	private RequestMetrics() {
+	}
+
+	static void start() {
+		CURRENT.set(new RequestMetrics());
+	}
+
+	static RequestMetrics finish() {
+		RequestMetrics metrics = CURRENT.get();
+		CURRENT.remove();
+		return metrics;
+	}
+
+	static void rowsReturned(long rows) {
+		RequestMetrics metrics = CURRENT.get();
+		if (metrics != null) {
+			metrics.rowsReturned += rows;
+		}
+	}
+
+	public static void entityHydrated() {
+		RequestMetrics metrics = CURRENT.get();
+		if (metrics != null) {
+			metrics.entitiesHydrated++;
+		}
+	}
+
+	long getRowsReturned() {
+		return rowsReturned;
+	}
+
+	long getEntitiesHydrated() {
+		return entitiesHydrated;
+	}
+}
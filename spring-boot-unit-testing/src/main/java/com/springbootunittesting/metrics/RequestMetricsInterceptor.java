@@ -0,0 +1,57 @@
+package com.springbootunittesting.metrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+	private final MeterRegistry meterRegistry;
+	// registered once per method and URI template, not looked up in the registry on every request
+	private final ConcurrentMap<Summary, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+	public RequestMetricsInterceptor(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		RequestMetrics.start();
+		return true;
+	}
+
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+			Object handler) {
+		// the rest of the request runs on another thread, don't leak the tally on this one
+		RequestMetrics.finish();
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		RequestMetrics metrics = RequestMetrics.finish();
+		if (metrics == null) {
+			return;
+		}
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+		summary("employee.request.rows", request.getMethod(), uri).record(metrics.getRowsReturned());
+		summary("employee.request.entities.hydrated", request.getMethod(), uri).record(metrics.getEntitiesHydrated());
+	}
+
+	private DistributionSummary summary(String name, String method, String uri) {
+		return summaries.computeIfAbsent(new Summary(name, method, uri),
+				key -> DistributionSummary.builder(name).tag("method", method).tag("uri", uri)
+						.publishPercentileHistogram().register(meterRegistry));
+	}
+
+	private record Summary(String name, String method, String uri) {
+	}
+}
@@ -1,21 +1,92 @@
 package com.springbootunittesting.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.springbootunittesting.dto.EmployeeDomainCount;
+import com.springbootunittesting.dto.EmployeeVersion;
 import com.springbootunittesting.entity.Employee;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeSearchRepository {
+	/**
+	 * Select clause of the list queries. Employees built by the constructor
+	 * expression are plain objects: they never enter the persistence context, so
+	 * Hibernate keeps no dirty-checking snapshot for them and changing them has
+	 * no effect on the database.
+	 */
+	String PROJECTION = "select new com.springbootunittesting.entity.Employee(e.id, e.firstName, e.lastName, e.email,"
+			+ " e.version) from Employee e";
+	String EMAIL_DOMAIN = "lower(substring(e.email, locate('@', e.email) + 1))";
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	Optional<Employee> findByEmail(String email);
 
+	@Query("select e.email from Employee e where e.email in :emails")
+	List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+	@Query(PROJECTION + " order by e.id")
+	List<Employee> listAll();
+
+	@Query(PROJECTION + " where e.id in :ids")
+	List<Employee> listByIds(@Param("ids") Collection<Long> ids);
+
+	@Query(PROJECTION + " where e.id > :id order by e.id")
+	List<Employee> findByIdGreaterThanOrderByIdAsc(@Param("id") Long id, Pageable pageable);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query(PROJECTION + " order by e.id")
+	Stream<Employee> streamAll();
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("select e.email from Employee e")
+	Stream<String> streamAllEmails();
+
+	// every write bumps the version, so comparing versions finds the rows changed since an earlier read
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("select new com.springbootunittesting.dto.EmployeeVersion(e.id, e.version) from Employee e order by e.id")
+	Stream<EmployeeVersion> streamVersions();
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Employee e set e.email = concat(substring(e.email, 1, locate('@', e.email)), :domain),"
+			+ " e.version = e.version + 1 where e.id in :ids and locate('@', e.email) > 0")
+	int updateEmailDomain(@Param("ids") Collection<Long> ids, @Param("domain") String domain);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from Employee e where e.id in :ids")
+	int deleteByIds(@Param("ids") Collection<Long> ids);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from Employee e where e.id = :id and e.version = :version")
+	int deleteByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
+
+	@Query("select e.email from Employee e where e.id = :id")
+	Optional<String> findEmailById(@Param("id") Long id);
+
+	// on the primary: counts from a lagging replica would undo the most recent writes
+	@Transactional
+	@Query("select new com.springbootunittesting.dto.EmployeeDomainCount(" + EMAIL_DOMAIN + ", count(e))"
+			+ " from Employee e group by " + EMAIL_DOMAIN)
+	List<EmployeeDomainCount> countByEmailDomain();
+
 	@Query(value = "select * from employees e where e.first_name = ?1 and e.last_name = ?2", nativeQuery = true)
-	Employee findEmployee(String firstName, String lastName);
+	List<Employee> findEmployee(String firstName, String lastName);
 
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	@Query("select e from Employee e where e.firstName = :firstName and e.email = :email")
 	Employee findEmployeeByFirstNameAndEmail(@Param("firstName") String firstName, @Param("email") String email);
 }
@@ -0,0 +1,16 @@
+package com.springbootunittesting.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+
+import com.springbootunittesting.entity.Employee;
+
+public interface EmployeeSearchRepository {
+	/**
+	 * Employees matching every LIKE pattern on their first name, last name or
+	 * email, compared in lower case with \ as the escape character, ordered by
+	 * last name, first name and id.
+	 */
+	List<Employee> searchByPrefixes(List<String> prefixes, Pageable pageable);
+}
@@ -0,0 +1,38 @@
+package com.springbootunittesting.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+
+import com.springbootunittesting.entity.Employee;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * The number of terms varies per query, so the statement is built here rather
+ * than declared with @Query. One AND-ed predicate per term.
+ */
+public class EmployeeSearchRepositoryImpl implements EmployeeSearchRepository {
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<Employee> searchByPrefixes(List<String> prefixes, Pageable pageable) {
+		StringBuilder jpql = new StringBuilder(EmployeeRepository.PROJECTION);
+		for (int i = 0; i < prefixes.size(); i++) {
+			String parameter = ":prefix" + i;
+			jpql.append(i == 0 ? " where " : " and ").append("(lower(e.firstName) like ").append(parameter)
+					.append(" escape '\\' or lower(e.lastName) like ").append(parameter)
+					.append(" escape '\\' or lower(e.email) like ").append(parameter).append(" escape '\\')");
+		}
+		jpql.append(" order by e.lastName, e.firstName, e.id");
+		TypedQuery<Employee> query = entityManager.createQuery(jpql.toString(), Employee.class);
+		for (int i = 0; i < prefixes.size(); i++) {
+			query.setParameter("prefix" + i, prefixes.get(i));
+		}
+		return query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize())
+				.getResultList();
+	}
+}
@@ -0,0 +1,74 @@
+package com.springbootunittesting.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.springbootunittesting.entity.Employee;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeRepository} on R2DBC. It works on
+ * the same employees table and draws ids from the same employees_seq sequence
+ * as the JPA mapping. Each value taken from the sequence is used directly as
+ * an id; Hibernate's pooled optimizer never hands out a value it did not fetch
+ * itself, so the two cannot collide.
+ */
+@Repository
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveEmployeeRepository {
+	private static final String SELECT = "select id, first_name, last_name, email, version from employees";
+
+	private final DatabaseClient databaseClient;
+
+	public ReactiveEmployeeRepository(DatabaseClient databaseClient) {
+		this.databaseClient = databaseClient;
+	}
+
+	public Flux<Employee> findAll() {
+		return databaseClient.sql(SELECT + " order by id").map(ReactiveEmployeeRepository::toEmployee).all();
+	}
+
+	public Mono<Employee> findById(Long id) {
+		return databaseClient.sql(SELECT + " where id = :id").bind("id", id).map(ReactiveEmployeeRepository::toEmployee)
+				.one();
+	}
+
+	public Mono<Employee> insert(Employee employee) {
+		return databaseClient.sql("select next value for employees_seq").map(row -> row.get(0, Long.class)).one()
+				.flatMap(id -> databaseClient
+						.sql("insert into employees (id, first_name, last_name, email, version)"
+								+ " values (:id, :firstName, :lastName, :email, 0)")
+						.bind("id", id).bind("firstName", employee.getFirstName())
+						.bind("lastName", employee.getLastName()).bind("email", employee.getEmail()).then()
+						.thenReturn(Employee.builder().id(id).firstName(employee.getFirstName())
+								.lastName(employee.getLastName()).email(employee.getEmail()).version(0L).build()));
+	}
+
+	/**
+	 * Updates the row if it still has the employee's version, the same check
+	 * Hibernate performs for the JPA side; 0 rows updated means it changed.
+	 */
+	public Mono<Long> update(Employee employee) {
+		return databaseClient
+				.sql("update employees set first_name = :firstName, last_name = :lastName, email = :email,"
+						+ " version = version + 1 where id = :id and version = :version")
+				.bind("firstName", employee.getFirstName()).bind("lastName", employee.getLastName())
+				.bind("email", employee.getEmail()).bind("id", employee.getId())
+				.bind("version", employee.getVersion()).fetch().rowsUpdated();
+	}
+
+	public Mono<Long> deleteById(Long id) {
+		return databaseClient.sql("delete from employees where id = :id").bind("id", id).fetch().rowsUpdated();
+	}
+
+	private static Employee toEmployee(Readable row) {
+		return Employee.builder().id(row.get("id", Long.class)).firstName(row.get("first_name", String.class))
+				.lastName(row.get("last_name", String.class)).email(row.get("email", String.class))
+				.version(row.get("version", Long.class)).build();
+	}
+}
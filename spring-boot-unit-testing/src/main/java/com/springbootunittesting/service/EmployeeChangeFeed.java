@@ -0,0 +1,209 @@
+package com.springbootunittesting.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.springbootunittesting.dto.EmployeeChangeEvent;
+import com.springbootunittesting.dto.EmployeeChangeEvent.Type;
+import com.springbootunittesting.entity.Employee;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Recent employee changes kept in a fixed-size ring buffer, so clients can
+ * follow changes instead of polling the full list. Publishing only stores the
+ * event and wakes the subscribers; each subscriber is served by its own thread,
+ * so a slow client delays nobody but itself. A subscriber that falls more than
+ * a buffer's worth of events behind is told it lagged and continues from the
+ * oldest event still buffered.
+ *
+ * Events raised inside a transaction are published after it commits, so
+ * rolled back writes are never announced. Sequence numbers start again from 1
+ * when the application restarts.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "employee.feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeChangeFeed implements EmployeeWriteListener {
+	private static final Logger log = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+
+	private final EmployeeChangeEvent[] ring;
+	private final int maxSubscribers;
+	private final long heartbeatMillis;
+	private final AtomicInteger subscribers = new AtomicInteger();
+	private long lastSequence;
+	private boolean closed;
+
+	public EmployeeChangeFeed(@Value("${employee.feed.capacity:10000}") int capacity,
+			@Value("${employee.feed.max-subscribers:100}") int maxSubscribers,
+			@Value("${employee.feed.heartbeat:15s}") Duration heartbeat) {
+		this.ring = new EmployeeChangeEvent[capacity];
+		this.maxSubscribers = maxSubscribers;
+		this.heartbeatMillis = heartbeat.toMillis();
+	}
+
+	public void created(Employee employee) {
+		publish(Type.CREATED, employee.getId(), employee);
+	}
+
+	public void updated(Employee employee) {
+		publish(Type.UPDATED, employee.getId(), employee);
+	}
+
+	public void deleted(Long id) {
+		publish(Type.DELETED, id, null);
+	}
+
+	@Override
+	public void onCreated(Employee employee) {
+		created(employee);
+	}
+
+	@Override
+	public void onUpdated(Employee employee, String previousEmail) {
+		updated(employee);
+	}
+
+	@Override
+	public void onDeleted(Long id, String email) {
+		deleted(id);
+	}
+
+	private void publish(Type type, Long employeeId, Employee employee) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					append(type, employeeId, employee);
+				}
+			});
+		} else {
+			append(type, employeeId, employee);
+		}
+	}
+
+	private synchronized void append(Type type, Long employeeId, Employee employee) {
+		lastSequence++;
+		ring[(int) (lastSequence % ring.length)] = new EmployeeChangeEvent(lastSequence, type, employeeId, employee);
+		notifyAll();
+	}
+
+	public synchronized long getLastSequence() {
+		return lastSequence;
+	}
+
+	/**
+	 * Buffered events with a sequence greater than {@code after}, oldest first
+	 * and at most {@code max} of them. When events after {@code after} have
+	 * already been overwritten the list starts at the oldest buffered event,
+	 * which the caller detects as a gap in the sequence.
+	 */
+	public synchronized List<EmployeeChangeEvent> read(long after, int max) {
+		long oldest = Math.max(1, lastSequence - ring.length + 1);
+		long from = after >= oldest - 1 && after <= lastSequence ? after + 1 : oldest;
+		List<EmployeeChangeEvent> events = new ArrayList<>((int) Math.min(max, lastSequence - from + 1));
+		for (long sequence = from; sequence <= lastSequence && events.size() < max; sequence++) {
+			events.add(ring[(int) (sequence % ring.length)]);
+		}
+		return events;
+	}
+
+	/**
+	 * Starts a thread that delivers every event after {@code after} to the
+	 * subscriber until it fails, the feed closes or the subscriber is cancelled.
+	 *
+	 * @return false when the maximum number of subscribers is already reached
+	 */
+	public boolean subscribe(long after, Subscriber subscriber) {
+		if (subscribers.incrementAndGet() > maxSubscribers) {
+			subscribers.decrementAndGet();
+			return false;
+		}
+		Thread thread = new Thread(() -> deliver(after, subscriber), "employee-feed-" + subscribers.get());
+		thread.setDaemon(true);
+		thread.start();
+		return true;
+	}
+
+	public int getSubscribers() {
+		return subscribers.get();
+	}
+
+	private void deliver(long after, Subscriber subscriber) {
+		long cursor = after;
+		try {
+			long last = getLastSequence();
+			if (cursor > last) {
+				// a sequence from before a restart
+				subscriber.lagged(cursor, last + 1);
+				cursor = last;
+			}
+			while (!subscriber.isCancelled()) {
+				List<EmployeeChangeEvent> events = read(cursor, 100);
+				if (events.isEmpty()) {
+					if (!await(cursor)) {
+						break;
+					}
+					if (getLastSequence() == cursor) {
+						subscriber.heartbeat();
+					}
+					continue;
+				}
+				if (events.get(0).getSequence() != cursor + 1) {
+					subscriber.lagged(cursor, events.get(0).getSequence());
+				}
+				for (EmployeeChangeEvent event : events) {
+					subscriber.send(event);
+				}
+				cursor = events.get(events.size() - 1).getSequence();
+			}
+			subscriber.close();
+		} catch (IOException | RuntimeException e) {
+			log.debug("Employee change subscriber dropped at sequence {}", cursor, e);
+			subscriber.close();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			subscribers.decrementAndGet();
+		}
+	}
+
+	// false once the feed is closed
+	private synchronized boolean await(long cursor) throws InterruptedException {
+		if (lastSequence <= cursor && !closed) {
+			wait(heartbeatMillis);
+		}
+		return !closed;
+	}
+
+	@PreDestroy
+	public synchronized void close() {
+		closed = true;
+		notifyAll();
+	}
+
+	public interface Subscriber {
+		void send(EmployeeChangeEvent event) throws IOException;
+
+		// events after missedAfter and before resumeFrom were overwritten before they could be sent
+		void lagged(long missedAfter, long resumeFrom) throws IOException;
+
+		void heartbeat() throws IOException;
+
+		boolean isCancelled();
+
+		void close();
+	}
+}
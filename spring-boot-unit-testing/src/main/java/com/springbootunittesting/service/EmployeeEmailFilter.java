@@ -0,0 +1,105 @@
+package com.springbootunittesting.service;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.repository.EmployeeRepository;
+
+/**
+ * Bloom filter over the emails stored in the employees table. A negative answer
+ * means the email is definitely not taken, so the service can insert without a
+ * lookup query; a positive answer may be a false positive and has to be checked
+ * against the database. Emails of deleted employees are never removed, which
+ * only raises the false positive rate.
+ */
+@Component
+@ConditionalOnProperty(prefix = "employee.email-filter", name = "enabled", havingValue = "true")
+public class EmployeeEmailFilter implements EmployeeWriteListener {
+	private final EmployeeRepository employeeRepository;
+	private final AtomicLongArray bits;
+	private final long numBits;
+	private final int numHashes;
+	private volatile boolean loaded;
+
+	public EmployeeEmailFilter(EmployeeRepository employeeRepository,
+			@Value("${employee.email-filter.expected-insertions:1000000}") long expectedInsertions,
+			@Value("${employee.email-filter.false-positive-probability:0.01}") double falsePositiveProbability) {
+		this.employeeRepository = employeeRepository;
+		long requiredBits = (long) Math
+				.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+		this.bits = new AtomicLongArray((int) ((Math.max(requiredBits, 64) + 63) / 64));
+		this.numBits = bits.length() * 64L;
+		this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void load() {
+		try (Stream<String> emails = employeeRepository.streamAllEmails()) {
+			emails.forEach(this::add);
+		}
+		loaded = true;
+	}
+
+	public void add(String email) {
+		long hash = hash(email);
+		int hash1 = (int) hash;
+		int hash2 = (int) (hash >>> 32);
+		for (int i = 1; i <= numHashes; i++) {
+			long bit = Integer.toUnsignedLong(hash1 + i * hash2) % numBits;
+			int index = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			long word;
+			while (((word = bits.get(index)) & mask) == 0 && !bits.compareAndSet(index, word, word | mask)) {
+				// another thread changed the word, retry with the fresh value
+			}
+		}
+	}
+
+	@Override
+	public void onCreated(Employee employee) {
+		add(employee.getEmail());
+	}
+
+	@Override
+	public void onUpdated(Employee employee, String previousEmail) {
+		add(employee.getEmail());
+	}
+
+	public boolean mightContain(String email) {
+		if (!loaded) {
+			return true;
+		}
+		long hash = hash(email);
+		int hash1 = (int) hash;
+		int hash2 = (int) (hash >>> 32);
+		for (int i = 1; i <= numHashes; i++) {
+			long bit = Integer.toUnsignedLong(hash1 + i * hash2) % numBits;
+			if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static long hash(String email) {
+		String key = email.toLowerCase(Locale.ROOT);
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < key.length(); i++) {
+			hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
@@ -0,0 +1,220 @@
+package com.springbootunittesting.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.springbootunittesting.dto.EmployeeBatchResult;
+import com.springbootunittesting.dto.EmployeeImportError;
+import com.springbootunittesting.dto.EmployeeImportReport;
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.util.EmployeeCsv;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Imports employees from CSV. The file is read as a stream and cut into
+ * chunks of rows, which are parsed and validated in parallel and then written
+ * in file order, one {@link EmployeeService#saveEmployees} transaction per
+ * chunk. Only a few chunks are in flight at a time, so memory stays the same
+ * however large the file is.
+ *
+ * Duplicate emails are caught by saveEmployees: within a chunk directly, and
+ * against earlier chunks and existing employees through the table, since
+ * earlier chunks are committed before the next one is written. The first row
+ * with an email wins.
+ */
+@Service
+public class EmployeeImportService {
+	private static final Logger log = LoggerFactory.getLogger(EmployeeImportService.class);
+	// length of the varchar columns generated for Employee
+	private static final int MAX_LENGTH = 255;
+
+	private final EmployeeService employeeService;
+	private final int chunkSize;
+	private final int parallelism;
+	private final int maxErrors;
+	private final int maxRecordLength;
+	private final int maxRecordLines;
+	private final ExecutorService parsers;
+
+	public EmployeeImportService(EmployeeService employeeService,
+			@Value("${employee.import.chunk-size:1000}") int chunkSize,
+			@Value("${employee.import.parallelism:0}") int parallelism,
+			@Value("${employee.import.max-errors:1000}") int maxErrors,
+			@Value("${employee.import.max-record-length:10000}") int maxRecordLength,
+			@Value("${employee.import.max-record-lines:100}") int maxRecordLines) {
+		this.employeeService = employeeService;
+		this.chunkSize = chunkSize;
+		// 0 means one parser per processor
+		this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+		this.maxErrors = maxErrors;
+		this.maxRecordLength = maxRecordLength;
+		this.maxRecordLines = maxRecordLines;
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("employee-import-");
+		threadFactory.setDaemon(true);
+		this.parsers = Executors.newFixedThreadPool(this.parallelism, threadFactory);
+	}
+
+	/**
+	 * @throws IllegalArgumentException when the header does not name the
+	 *                                  firstName, lastName and email columns
+	 */
+	public EmployeeImportReport importCsv(BufferedReader reader) throws IOException {
+		EmployeeCsv.RecordReader records = new EmployeeCsv.RecordReader(reader, maxRecordLength,
+				maxRecordLines);
+		int[] columns = columns(records.next());
+		EmployeeImportReport report = new EmployeeImportReport();
+		Deque<Future<Chunk>> inFlight = new ArrayDeque<>();
+		try {
+			List<String> rows = new ArrayList<>(chunkSize);
+			List<Long> lines = new ArrayList<>(chunkSize);
+			String record;
+			while ((record = records.next()) != null) {
+				if (record.isBlank()) {
+					continue;
+				}
+				// null marks a record that was given up, rejected in file order with the rest of its chunk
+				rows.add(records.isTooLong() ? null : record);
+				lines.add(records.getLine());
+				if (rows.size() == chunkSize) {
+					List<String> chunkRows = rows;
+					List<Long> chunkLines = lines;
+					inFlight.add(parsers.submit(() -> parse(chunkRows, chunkLines, columns)));
+					rows = new ArrayList<>(chunkSize);
+					lines = new ArrayList<>(chunkSize);
+					if (inFlight.size() > parallelism) {
+						write(inFlight.poll(), report);
+					}
+				}
+			}
+			if (!rows.isEmpty()) {
+				List<String> chunkRows = rows;
+				List<Long> chunkLines = lines;
+				inFlight.add(parsers.submit(() -> parse(chunkRows, chunkLines, columns)));
+			}
+			while (!inFlight.isEmpty()) {
+				write(inFlight.poll(), report);
+			}
+		} finally {
+			inFlight.forEach(chunk -> chunk.cancel(true));
+		}
+		return report;
+	}
+
+	private static int[] columns(String header) {
+		List<String> names = header == null ? List.of() : EmployeeCsv.parse(header.replace("\uFEFF", "").strip());
+		int[] columns = { names.indexOf("firstName"), names.indexOf("lastName"), names.indexOf("email") };
+		for (int column : columns) {
+			if (column < 0) {
+				throw new IllegalArgumentException("CSV header must name the firstName, lastName and email columns");
+			}
+		}
+		return columns;
+	}
+
+	private static Chunk parse(List<String> rows, List<Long> lines, int[] columns) {
+		List<Employee> employees = new ArrayList<>(rows.size());
+		Map<Employee, Long> employeeLines = new IdentityHashMap<>(rows.size());
+		List<EmployeeImportError> errors = new ArrayList<>();
+		for (int i = 0; i < rows.size(); i++) {
+			if (rows.get(i) == null) {
+				errors.add(new EmployeeImportError(lines.get(i),
+						"Record is too long, check for a quote that is never closed"));
+				continue;
+			}
+			List<String> fields = EmployeeCsv.parse(rows.get(i));
+			Employee employee = Employee.builder().firstName(field(fields, columns[0]))
+					.lastName(field(fields, columns[1])).email(field(fields, columns[2])).build();
+			String error = validate(employee);
+			if (error == null) {
+				employees.add(employee);
+				employeeLines.put(employee, lines.get(i));
+			} else {
+				errors.add(new EmployeeImportError(lines.get(i), error));
+			}
+		}
+		return new Chunk(employees, employeeLines, errors);
+	}
+
+	private static String field(List<String> fields, int column) {
+		return column < fields.size() ? fields.get(column).strip() : "";
+	}
+
+	private static String validate(Employee employee) {
+		if (employee.getFirstName().isEmpty()) {
+			return "firstName is required";
+		}
+		if (employee.getLastName().isEmpty()) {
+			return "lastName is required";
+		}
+		if (employee.getEmail().isEmpty()) {
+			return "email is required";
+		}
+		if (employee.getFirstName().length() > MAX_LENGTH || employee.getLastName().length() > MAX_LENGTH
+				|| employee.getEmail().length() > MAX_LENGTH) {
+			return "Values must not be longer than " + MAX_LENGTH + " characters";
+		}
+		if (employee.getEmail().indexOf('@') < 1) {
+			return "email is not valid: " + employee.getEmail();
+		}
+		return null;
+	}
+
+	private void write(Future<Chunk> future, EmployeeImportReport report) throws IOException {
+		Chunk chunk;
+		try {
+			chunk = future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Employee import interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Could not parse employee rows", e.getCause());
+		}
+		report.setRows(report.getRows() + chunk.employees().size() + chunk.errors().size());
+		chunk.errors().forEach(error -> reject(report, error));
+		if (chunk.employees().isEmpty()) {
+			return;
+		}
+		try {
+			EmployeeBatchResult result = employeeService.saveEmployees(chunk.employees());
+			report.setImported(report.getImported() + result.getAccepted().size());
+			result.getRejected().forEach(employee -> reject(report, new EmployeeImportError(
+					chunk.lines().get(employee), "Employee already exists with given email: " + employee.getEmail())));
+		} catch (RuntimeException e) {
+			log.warn("Could not import {} employee rows", chunk.employees().size(), e);
+			chunk.employees().forEach(employee -> reject(report,
+					new EmployeeImportError(chunk.lines().get(employee), "Could not save row: " + e.getMessage())));
+		}
+	}
+
+	private void reject(EmployeeImportReport report, EmployeeImportError error) {
+		report.setRejected(report.getRejected() + 1);
+		if (report.getErrors().size() < maxErrors) {
+			report.getErrors().add(error);
+		}
+	}
+
+	@PreDestroy
+	public void close() {
+		parsers.shutdownNow();
+	}
+
+	private record Chunk(List<Employee> employees, Map<Employee, Long> lines, List<EmployeeImportError> errors) {
+	}
+}
@@ -0,0 +1,81 @@
+package com.springbootunittesting.service;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.util.EmployeeJson;
+
+/**
+ * Encoded JSON of recently served employees, by id. An entry only answers for
+ * the version it was encoded from, so a stale entry is never served even if
+ * an eviction is missed; the service still evicts on update and delete to
+ * free the space early. Employees without an id or version are encoded every
+ * time.
+ */
+public class EmployeeJsonCache implements EmployeeWriteListener {
+	private final JsonFactory jsonFactory;
+	private final Cache<Long, Encoded> cache;
+
+	public EmployeeJsonCache(JsonFactory jsonFactory, long maximumSize) {
+		this.jsonFactory = jsonFactory;
+		this.cache = Caffeine.newBuilder().maximumSize(maximumSize).build();
+	}
+
+	public SerializableString get(Employee employee) {
+		SerializableString json = getIfPresent(employee);
+		if (json != null) {
+			return json;
+		}
+		SerializedString encoded = encode(employee);
+		if (employee.getId() != null && employee.getVersion() != null) {
+			cache.put(employee.getId(), new Encoded(employee.getVersion(), encoded));
+		}
+		return encoded;
+	}
+
+	public SerializableString getIfPresent(Employee employee) {
+		if (employee.getId() == null) {
+			return null;
+		}
+		Encoded encoded = cache.getIfPresent(employee.getId());
+		return encoded != null && encoded.version().equals(employee.getVersion()) ? encoded.json() : null;
+	}
+
+	public void evict(Long id) {
+		cache.invalidate(id);
+	}
+
+	@Override
+	public void onUpdated(Employee employee, String previousEmail) {
+		evict(employee.getId());
+	}
+
+	@Override
+	public void onDeleted(Long id, String email) {
+		evict(id);
+	}
+
+	private SerializedString encode(Employee employee) {
+		StringWriter writer = new StringWriter(128);
+		try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+			EmployeeJson.write(generator, employee);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		SerializedString json = new SerializedString(writer.toString());
+		// encode to UTF-8 once here rather than on the first request that writes it
+		json.asUnquotedUTF8();
+		return json;
+	}
+
+	private record Encoded(Long version, SerializedString json) {
+	}
+}
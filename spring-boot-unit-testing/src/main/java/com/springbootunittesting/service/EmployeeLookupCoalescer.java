@@ -0,0 +1,105 @@
+package com.springbootunittesting.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.repository.EmployeeRepository;
+
+/**
+ * Coalesces concurrent single-id lookups into one {@code IN (...)} query,
+ * DataLoader-style. The first lookup to arrive opens a batch and waits out
+ * the window while later lookups join it; then it loads every id in the batch
+ * with one findAllById call and hands each caller its employee. A batch that
+ * reaches the maximum size is loaded at once by the caller that filled it.
+ * Lookups of the same id in one batch share a single slot.
+ *
+ * No threads of its own: the waiting is done by the first caller, so an
+ * uncontended lookup costs the window in latency and nothing else.
+ */
+@Component
+@ConditionalOnProperty(prefix = "employee.coalescing", name = "enabled", havingValue = "true")
+public class EmployeeLookupCoalescer {
+	private final EmployeeRepository employeeRepository;
+	private final long windowNanos;
+	private final int maxBatchSize;
+	private Batch open;
+
+	public EmployeeLookupCoalescer(EmployeeRepository employeeRepository,
+			@Value("${employee.coalescing.window:1ms}") Duration window,
+			@Value("${employee.coalescing.max-batch-size:100}") int maxBatchSize) {
+		this.employeeRepository = employeeRepository;
+		this.windowNanos = window.toNanos();
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	public Optional<Employee> findById(Long id) {
+		Batch batch;
+		CompletableFuture<Optional<Employee>> result;
+		boolean leader = false;
+		boolean full = false;
+		synchronized (this) {
+			if (open == null) {
+				open = new Batch();
+				leader = true;
+			}
+			batch = open;
+			result = batch.lookups.computeIfAbsent(id, key -> new CompletableFuture<>());
+			if (batch.lookups.size() >= maxBatchSize) {
+				open = null;
+				full = true;
+			}
+		}
+		if (full) {
+			load(batch);
+		} else if (leader) {
+			LockSupport.parkNanos(windowNanos);
+			if (close(batch)) {
+				load(batch);
+			}
+		}
+		try {
+			return result.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw e.getCause() instanceof RuntimeException cause ? cause : e;
+		}
+	}
+
+	// false when the batch filled up and was loaded by another caller already
+	private synchronized boolean close(Batch batch) {
+		if (open != batch) {
+			return false;
+		}
+		open = null;
+		return true;
+	}
+
+	private void load(Batch batch) {
+		try {
+			Map<Long, Employee> employees = new LinkedHashMap<>();
+			employeeRepository.findAllById(batch.lookups.keySet())
+					.forEach(employee -> employees.put(employee.getId(), employee));
+			batch.lookups.forEach((id, lookup) -> lookup.complete(Optional.ofNullable(employees.get(id))));
+		} catch (Throwable e) {
+			// errors too: the other callers would otherwise wait forever
+			batch.lookups.values().forEach(lookup -> lookup.completeExceptionally(e));
+		}
+	}
+
+	private static class Batch {
+		// only changed while the batch is open, under the coalescer's lock
+		private final Map<Long, CompletableFuture<Optional<Employee>>> lookups = new LinkedHashMap<>();
+	}
+}
@@ -0,0 +1,389 @@
+package com.springbootunittesting.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.repository.EmployeeRepository;
+
+/**
+ * In-memory type-ahead index over employee names and emails. Tokens are kept
+ * in a sorted map, so a prefix lookup is a range scan. A query is answered
+ * from the term matching the fewest employees; when even that term matches
+ * more than employee.search.max-candidates, the database answers instead. Name
+ * tokens are also indexed by trigram to find near misses (one typo, two for
+ * longer terms) when prefixes alone don't fill the result. The service keeps
+ * the index current on save, update and delete, and each change is applied
+ * once its transaction commits. Until {@link #load()} has run,
+ * {@link #isLoaded()} is false and searches go to the database. Rows the load
+ * reads for employees written or deleted since it started are skipped, so a
+ * stale row from the scan never overwrites a newer change.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(prefix = "employee.search", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeSearchIndex implements EmployeeWriteListener {
+	private static final Pattern NAME_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final Pattern EMAIL_SEPARATORS = Pattern.compile("[._+-]+");
+	private static final int EXACT = 3;
+	private static final int PREFIX = 2;
+	private static final int FUZZY = 1;
+
+	private final EmployeeRepository employeeRepository;
+	private final int maxCandidates;
+	private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+	private final Map<String, Set<String>> trigrams = new ConcurrentHashMap<>();
+	private final Map<Long, Employee> employees = new ConcurrentHashMap<>();
+	private volatile boolean loaded;
+	// ids indexed or removed since the running load started, null when none is running; guarded by this
+	private Set<Long> changedDuringLoad;
+
+	public EmployeeSearchIndex(EmployeeRepository employeeRepository,
+			@Value("${employee.search.max-candidates:10000}") int maxCandidates) {
+		this.employeeRepository = employeeRepository;
+		this.maxCandidates = maxCandidates;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void load() {
+		synchronized (this) {
+			changedDuringLoad = new HashSet<>();
+		}
+		try (Stream<Employee> all = employeeRepository.streamAll()) {
+			all.forEach(this::indexLoaded);
+		} finally {
+			synchronized (this) {
+				changedDuringLoad = null;
+			}
+		}
+		loaded = true;
+	}
+
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	public int size() {
+		return employees.size();
+	}
+
+	// the write listener calls take effect once the transaction commits, so searches never see rolled back rows
+	@Override
+	public void onCreated(Employee employee) {
+		afterCommit(() -> index(employee));
+	}
+
+	@Override
+	public void onUpdated(Employee employee, String previousEmail) {
+		afterCommit(() -> index(employee));
+	}
+
+	@Override
+	public void onDeleted(Long id, String email) {
+		afterCommit(() -> remove(id));
+	}
+
+	public synchronized void index(Employee employee) {
+		if (changedDuringLoad != null) {
+			changedDuringLoad.add(employee.getId());
+		}
+		put(employee);
+	}
+
+	private synchronized void indexLoaded(Employee employee) {
+		if (!changedDuringLoad.contains(employee.getId())) {
+			put(employee);
+		}
+	}
+
+	private void put(Employee employee) {
+		evict(employee.getId());
+		Employee snapshot = Employee.builder().id(employee.getId()).firstName(employee.getFirstName())
+				.lastName(employee.getLastName()).email(employee.getEmail()).version(employee.getVersion()).build();
+		employees.put(snapshot.getId(), snapshot);
+		for (String token : tokens(snapshot)) {
+			postings.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(snapshot.getId());
+		}
+		for (String token : nameTokens(snapshot)) {
+			for (String trigram : trigrams(token)) {
+				trigrams.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(token);
+			}
+		}
+	}
+
+	public synchronized void remove(Long id) {
+		if (changedDuringLoad != null) {
+			changedDuringLoad.add(id);
+		}
+		evict(id);
+	}
+
+	private void evict(Long id) {
+		Employee snapshot = employees.remove(id);
+		if (snapshot == null) {
+			return;
+		}
+		for (String token : tokens(snapshot)) {
+			postings.computeIfPresent(token, (key, ids) -> {
+				ids.remove(id);
+				return ids.isEmpty() ? null : ids;
+			});
+		}
+		for (String token : nameTokens(snapshot)) {
+			if (!postings.containsKey(token)) {
+				for (String trigram : trigrams(token)) {
+					trigrams.computeIfPresent(trigram, (key, tokens) -> {
+						tokens.remove(token);
+						return tokens.isEmpty() ? null : tokens;
+					});
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns up to limit employees matching every whitespace separated term of
+	 * the query, best matches first: exact tokens over prefixes over near misses,
+	 * then by last and first name. Candidates come from the term matching the
+	 * fewest employees and are checked against the other terms, so every match
+	 * is ranked. Returns null when even that term matches more than the maximum
+	 * number of candidates; the caller then asks the database.
+	 */
+	public List<Employee> search(String query, int limit) {
+		List<String> terms = Arrays.stream(query.trim().toLowerCase(Locale.ROOT).split("\\s+"))
+				.filter(term -> !term.isEmpty()).distinct().toList();
+		if (terms.isEmpty() || limit < 1) {
+			return List.of();
+		}
+		String lead = null;
+		long leadPostings = Long.MAX_VALUE;
+		for (String term : terms) {
+			long count = countPostings(term, leadPostings);
+			if (count < leadPostings) {
+				lead = term;
+				leadPostings = count;
+			}
+		}
+		Map<Long, Integer> candidates = new HashMap<>();
+		for (Map.Entry<String, Set<Long>> entry : prefixRange(lead).entrySet()) {
+			int score = entry.getKey().equals(lead) ? EXACT : PREFIX;
+			for (Long id : entry.getValue()) {
+				candidates.merge(id, score, Math::max);
+			}
+			if (candidates.size() > maxCandidates) {
+				return null;
+			}
+		}
+		if (candidates.size() < limit) {
+			fuzzy: for (String token : fuzzyTokens(lead)) {
+				for (Long id : postings.getOrDefault(token, Set.of())) {
+					candidates.putIfAbsent(id, FUZZY);
+					if (candidates.size() >= maxCandidates) {
+						break fuzzy;
+					}
+				}
+			}
+		}
+		List<Match> matches = new ArrayList<>();
+		candidates: for (Map.Entry<Long, Integer> candidate : candidates.entrySet()) {
+			Employee employee = employees.get(candidate.getKey());
+			if (employee == null) {
+				continue;
+			}
+			Set<String> tokens = terms.size() > 1 ? tokens(employee) : Set.of();
+			int score = candidate.getValue();
+			for (String term : terms) {
+				if (!term.equals(lead)) {
+					int termScore = score(term, tokens);
+					if (termScore == 0) {
+						continue candidates;
+					}
+					score += termScore;
+				}
+			}
+			matches.add(new Match(employee, score));
+		}
+		return matches.stream()
+				.sorted(Comparator.comparingInt(Match::score).reversed()
+						.thenComparing(match -> match.employee().getLastName(), String.CASE_INSENSITIVE_ORDER)
+						.thenComparing(match -> match.employee().getFirstName(), String.CASE_INSENSITIVE_ORDER)
+						.thenComparing(match -> match.employee().getId()))
+				.limit(limit).map(match -> Employee.builder().id(match.employee().getId())
+						.firstName(match.employee().getFirstName()).lastName(match.employee().getLastName())
+						.email(match.employee().getEmail()).version(match.employee().getVersion()).build())
+				.toList();
+	}
+
+	private Map<String, Set<Long>> prefixRange(String term) {
+		return postings.subMap(term, true, term + Character.MAX_VALUE, false);
+	}
+
+	/**
+	 * Postings of the tokens starting with the term, counting each employee once
+	 * per matching token; stops once the count reaches the given bound.
+	 */
+	private long countPostings(String term, long bound) {
+		long count = 0;
+		for (Set<Long> ids : prefixRange(term).values()) {
+			count += ids.size();
+			if (count >= bound) {
+				break;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Name tokens within the allowed edit distance of the term, closest first.
+	 */
+	private List<String> fuzzyTokens(String term) {
+		if (term.length() < 3) {
+			return List.of();
+		}
+		List<String> termTrigrams = trigrams(term);
+		Map<String, Integer> hits = new HashMap<>();
+		for (String trigram : termTrigrams) {
+			for (String token : trigrams.getOrDefault(trigram, Set.of())) {
+				hits.merge(token, 1, Integer::sum);
+			}
+		}
+		// one edit changes at most three trigrams
+		int required = Math.max(1, termTrigrams.size() - 3 * maxDistance(term));
+		Map<String, Integer> distances = new HashMap<>();
+		hits.forEach((token, count) -> {
+			if (count >= required) {
+				int distance = prefixDistance(term, token);
+				if (distance <= maxDistance(term)) {
+					distances.put(token, distance);
+				}
+			}
+		});
+		return distances.entrySet().stream()
+				.sorted(Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+				.map(Map.Entry::getKey).toList();
+	}
+
+	private static int score(String term, Set<String> tokens) {
+		int best = 0;
+		for (String token : tokens) {
+			if (token.equals(term)) {
+				return EXACT;
+			}
+			if (token.startsWith(term)) {
+				best = PREFIX;
+			} else if (best == 0 && term.length() >= 3 && prefixDistance(term, token) <= maxDistance(term)) {
+				best = FUZZY;
+			}
+		}
+		return best;
+	}
+
+	private static int maxDistance(String term) {
+		return term.length() <= 7 ? 1 : 2;
+	}
+
+	/**
+	 * Levenshtein distance between the term and the closest prefix of the token,
+	 * so a partially typed word with a typo still matches.
+	 */
+	static int prefixDistance(String term, String token) {
+		int[] previous = new int[token.length() + 1];
+		int[] current = new int[token.length() + 1];
+		for (int j = 0; j <= token.length(); j++) {
+			previous[j] = j;
+		}
+		for (int i = 1; i <= term.length(); i++) {
+			current[0] = i;
+			for (int j = 1; j <= token.length(); j++) {
+				int cost = term.charAt(i - 1) == token.charAt(j - 1) ? 0 : 1;
+				current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		int distance = Integer.MAX_VALUE;
+		for (int value : previous) {
+			distance = Math.min(distance, value);
+		}
+		return distance;
+	}
+
+	private static Set<String> tokens(Employee employee) {
+		Set<String> tokens = nameTokens(employee);
+		if (employee.getEmail() != null) {
+			String email = employee.getEmail().toLowerCase(Locale.ROOT);
+			tokens.add(email);
+			int at = email.indexOf('@');
+			for (String part : EMAIL_SEPARATORS.split(at < 0 ? email : email.substring(0, at))) {
+				if (!part.isEmpty()) {
+					tokens.add(part);
+				}
+			}
+		}
+		return tokens;
+	}
+
+	private static Set<String> nameTokens(Employee employee) {
+		Set<String> tokens = new LinkedHashSet<>();
+		for (String name : new String[] { employee.getFirstName(), employee.getLastName() }) {
+			if (name != null) {
+				for (String part : NAME_SEPARATORS.split(name.toLowerCase(Locale.ROOT))) {
+					if (!part.isEmpty()) {
+						tokens.add(part);
+					}
+				}
+			}
+		}
+		return tokens;
+	}
+
+	private static List<String> trigrams(String token) {
+		String padded = "$" + token;
+		List<String> trigrams = new ArrayList<>();
+		for (int i = 0; i + 3 <= padded.length(); i++) {
+			trigrams.add(padded.substring(i, i + 3));
+		}
+		return trigrams;
+	}
+
+	private static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+
+	private record Match(Employee employee, int score) {
+	}
+}
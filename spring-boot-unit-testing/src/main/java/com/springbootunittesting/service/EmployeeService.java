@@ -2,17 +2,40 @@ package com.springbootunittesting.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import com.springbootunittesting.dto.EmployeeBatchResult;
+import com.springbootunittesting.dto.EmployeeBulkResult;
+import com.springbootunittesting.dto.EmployeePage;
 import com.springbootunittesting.entity.Employee;
 
 public interface EmployeeService {
 	Employee saveEmployee(Employee employee);
 
+	EmployeeBatchResult saveEmployees(List<Employee> employees);
+
 	List<Employee> getAllEmployees();
 
+	EmployeePage getEmployees(Long after, int limit);
+
+	void exportEmployees(Consumer<Employee> consumer);
+
+	List<Employee> searchEmployees(String query, int limit);
+
 	Optional<Employee> getEmployee(Long id);
 
+	// in the order requested, ids that do not exist are left out
+	List<Employee> getEmployeesById(List<Long> ids);
+
 	Employee updateEmployee(Long id, Employee employee);
 
+	Employee patchEmployee(Long id, Employee changes);
+
 	void deleteEmployee(Long id);
+
+	void deleteEmployee(Long id, Long expectedVersion);
+
+	EmployeeBulkResult updateEmailDomain(List<Long> ids, String domain);
+
+	EmployeeBulkResult deleteEmployees(List<Long> ids);
 }
@@ -1,61 +1,335 @@
 package com.springbootunittesting.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.springbootunittesting.config.CacheConfig;
+import com.springbootunittesting.dto.EmployeeBatchResult;
+import com.springbootunittesting.dto.EmployeeBulkResult;
+import com.springbootunittesting.dto.EmployeePage;
 import com.springbootunittesting.entity.Employee;
 import com.springbootunittesting.exception.ResourceExistsException;
 import com.springbootunittesting.exception.ResourceNotFoundException;
 import com.springbootunittesting.repository.EmployeeRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
+	private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
 	@Autowired
 	private EmployeeRepository employeeRepository;
+	@Value("${employee.page.max-limit:500}")
+	private int maxPageLimit = 500;
+	@Value("${employee.batch.size:50}")
+	private int batchSize = 50;
+	@Value("${employee.search.max-limit:50}")
+	private int maxSearchLimit = 50;
+	@PersistenceContext
+	private EntityManager entityManager;
+	@Autowired(required = false)
+	private EmployeeEmailFilter emailFilter;
+	@Autowired(required = false)
+	private EmployeeSearchIndex searchIndex;
+	@Autowired(required = false)
+	private EmployeeLookupCoalescer lookupCoalescer;
+	// the email filter, search index, JSON cache, stats and change feed, whichever are enabled
+	@Autowired(required = false)
+	private List<EmployeeWriteListener> writeListeners = List.of();
 
 	public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
 		this.employeeRepository = employeeRepository;
 	}
 
 	@Override
+	@CachePut(cacheNames = CacheConfig.EMPLOYEE_CACHE, key = "#result.id")
 	public Employee saveEmployee(Employee employee) {
-		Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-		if (savedEmployee.isPresent()) {
+		if (emailFilter != null && emailFilter.mightContain(employee.getEmail())
+				&& employeeRepository.findByEmail(employee.getEmail()).isPresent()) {
 			throw new ResourceExistsException("Employee already exists with given email: " + employee.getEmail());
 		}
-		return employeeRepository.save(employee);
+		Employee savedEmployee;
+		try {
+			savedEmployee = employeeRepository.saveAndFlush(employee);
+		} catch (DataIntegrityViolationException e) {
+			throw translateViolation(e, "Employee already exists with given email: " + employee.getEmail());
+		}
+		for (EmployeeWriteListener listener : writeListeners) {
+			listener.onCreated(savedEmployee);
+		}
+		return savedEmployee;
 	}
 
 	@Override
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.EMPLOYEE_CACHE, allEntries = true,
+			condition = "@cacheManager.allowNullValues")
+	public EmployeeBatchResult saveEmployees(List<Employee> employees) {
+		List<String> emails = employees.stream().map(Employee::getEmail).distinct().toList();
+		Set<String> knownEmails = new HashSet<>();
+		for (int from = 0; from < emails.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+			knownEmails.addAll(employeeRepository
+					.findExistingEmails(emails.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, emails.size()))));
+		}
+		List<Employee> accepted = new ArrayList<>();
+		List<Employee> rejected = new ArrayList<>();
+		for (Employee employee : employees) {
+			if (knownEmails.add(employee.getEmail())) {
+				accepted.add(employee);
+			} else {
+				rejected.add(employee);
+			}
+		}
+		try {
+			for (int from = 0; from < accepted.size(); from += batchSize) {
+				employeeRepository.saveAll(accepted.subList(from, Math.min(from + batchSize, accepted.size())));
+				// through the repository, so a violation in the batch is translated
+				employeeRepository.flush();
+				entityManager.clear();
+			}
+		} catch (DataIntegrityViolationException e) {
+			// an email inserted concurrently since the check above
+			throw translateViolation(e, "Employee already exists with given email");
+		}
+		for (EmployeeWriteListener listener : writeListeners) {
+			accepted.forEach(listener::onCreated);
+		}
+		return new EmployeeBatchResult(accepted, rejected);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
 	public List<Employee> getAllEmployees() {
-		return employeeRepository.findAll();
+		return employeeRepository.listAll();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public EmployeePage getEmployees(Long after, int limit) {
+		int pageSize = Math.max(1, Math.min(limit, maxPageLimit));
+		List<Employee> employees = employeeRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after,
+				PageRequest.of(0, pageSize));
+		Long nextCursor = employees.size() < pageSize ? null : employees.get(employees.size() - 1).getId();
+		return new EmployeePage(employees, nextCursor);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void exportEmployees(Consumer<Employee> consumer) {
+		try (Stream<Employee> employees = employeeRepository.streamAll()) {
+			employees.forEach(consumer);
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Employee> searchEmployees(String query, int limit) {
+		int size = Math.max(1, Math.min(limit, maxSearchLimit));
+		if (searchIndex != null && searchIndex.isLoaded()) {
+			List<Employee> found = searchIndex.search(query, size);
+			// null when too many employees match for the index to rank them all
+			if (found != null) {
+				return found;
+			}
+		}
+		List<String> prefixes = Arrays.stream(query.trim().toLowerCase(Locale.ROOT).split("\\s+"))
+				.filter(term -> !term.isEmpty()).distinct()
+				.map(term -> term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%").toList();
+		if (prefixes.isEmpty()) {
+			return List.of();
+		}
+		return employeeRepository.searchByPrefixes(prefixes, PageRequest.of(0, size));
 	}
 
+	// no transaction of its own: a coalesced lookup would hold a connection while it waits for its batch
 	@Override
+	@Cacheable(cacheNames = CacheConfig.EMPLOYEE_CACHE, key = "#id",
+			unless = "#result == null and !@cacheManager.allowNullValues")
 	public Optional<Employee> getEmployee(Long id) {
-		return employeeRepository.findById(id);
+		return lookupCoalescer != null ? lookupCoalescer.findById(id) : employeeRepository.findById(id);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
+	public List<Employee> getEmployeesById(List<Long> ids) {
+		List<Long> distinctIds = ids.stream().distinct().toList();
+		if (distinctIds.size() > maxPageLimit) {
+			throw new IllegalArgumentException("At most " + maxPageLimit + " ids can be requested at once");
+		}
+		Map<Long, Employee> employees = new HashMap<>();
+		employeeRepository.findAllById(distinctIds).forEach(employee -> employees.put(employee.getId(), employee));
+		return distinctIds.stream().map(employees::get).filter(Objects::nonNull).toList();
+	}
+
+	// read-write, so the version checked is read from the primary and not from a lagging replica
+	@Override
+	@Transactional
+	@CachePut(cacheNames = CacheConfig.EMPLOYEE_CACHE, key = "#id")
 	public Employee updateEmployee(Long id, Employee employee) {
 		Optional<Employee> employeeOptional = employeeRepository.findById(id);
 		Employee savedEmployee = null;
+		String previousEmail = null;
 		if (employeeOptional.isPresent()) {
 			savedEmployee = employeeOptional.get();
+			checkVersion(savedEmployee, employee.getVersion());
+			previousEmail = savedEmployee.getEmail();
 			savedEmployee.setFirstName(employee.getFirstName());
 			savedEmployee.setLastName(employee.getLastName());
 			savedEmployee.setEmail(employee.getEmail());
 		} else {
 			throw new ResourceNotFoundException("Employee does not exist with id: " + id);
 		}
-		return employeeRepository.save(savedEmployee);
+		try {
+			savedEmployee = employeeRepository.saveAndFlush(savedEmployee);
+		} catch (DataIntegrityViolationException e) {
+			throw translateViolation(e, "Employee already exists with given email: " + employee.getEmail());
+		}
+		for (EmployeeWriteListener listener : writeListeners) {
+			listener.onUpdated(savedEmployee, previousEmail);
+		}
+		return savedEmployee;
 	}
 
 	@Override
+	@Transactional
+	@CachePut(cacheNames = CacheConfig.EMPLOYEE_CACHE, key = "#id")
+	public Employee patchEmployee(Long id, Employee changes) {
+		Employee savedEmployee = employeeRepository.findById(id)
+				.orElseThrow(() -> new ResourceNotFoundException("Employee does not exist with id: " + id));
+		checkVersion(savedEmployee, changes.getVersion());
+		String previousEmail = savedEmployee.getEmail();
+		if (changes.getFirstName() != null) {
+			savedEmployee.setFirstName(changes.getFirstName());
+		}
+		if (changes.getLastName() != null) {
+			savedEmployee.setLastName(changes.getLastName());
+		}
+		if (changes.getEmail() != null) {
+			savedEmployee.setEmail(changes.getEmail());
+		}
+		try {
+			savedEmployee = employeeRepository.saveAndFlush(savedEmployee);
+		} catch (DataIntegrityViolationException e) {
+			throw translateViolation(e, "Employee already exists with given email: " + savedEmployee.getEmail());
+		}
+		for (EmployeeWriteListener listener : writeListeners) {
+			listener.onUpdated(savedEmployee, previousEmail);
+		}
+		return savedEmployee;
+	}
+
+	@Override
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.EMPLOYEE_CACHE, key = "#id")
 	public void deleteEmployee(Long id) {
+		Optional<String> email = writeListeners.isEmpty() ? Optional.empty() : employeeRepository.findEmailById(id);
 		employeeRepository.deleteById(id);
+		for (EmployeeWriteListener listener : writeListeners) {
+			listener.onDeleted(id, email.orElse(null));
+		}
+	}
+
+	@Override
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.EMPLOYEE_CACHE, key = "#id")
+	public void deleteEmployee(Long id, Long expectedVersion) {
+		Optional<String> email = writeListeners.isEmpty() ? Optional.empty() : employeeRepository.findEmailById(id);
+		if (expectedVersion == null) {
+			employeeRepository.deleteById(id);
+		} else if (employeeRepository.deleteByIdAndVersion(id, expectedVersion) == 0) {
+			if (employeeRepository.existsById(id)) {
+				throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+			}
+			// deleted by someone else in the meantime, who counted it
+			email = Optional.empty();
+		}
+		for (EmployeeWriteListener listener : writeListeners) {
+			listener.onDeleted(id, email.orElse(null));
+		}
+	}
+
+	@Override
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.EMPLOYEE_CACHE, allEntries = true)
+	public EmployeeBulkResult updateEmailDomain(List<Long> ids, String domain) {
+		List<Long> distinctIds = ids.stream().distinct().toList();
+		int affected = 0;
+		for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+			List<Long> chunk = distinctIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinctIds.size()));
+			try {
+				affected += employeeRepository.updateEmailDomain(chunk, domain);
+			} catch (DataIntegrityViolationException e) {
+				throw translateViolation(e, "Moving employees to " + domain + " would duplicate an existing email");
+			}
+		}
+		if (!writeListeners.isEmpty() && affected > 0) {
+			for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+				List<Employee> employees = employeeRepository
+						.listByIds(distinctIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinctIds.size())));
+				for (EmployeeWriteListener listener : writeListeners) {
+					listener.onBulkUpdated(employees);
+				}
+			}
+		}
+		return new EmployeeBulkResult(distinctIds.size(), affected);
+	}
+
+	@Override
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.EMPLOYEE_CACHE, allEntries = true)
+	public EmployeeBulkResult deleteEmployees(List<Long> ids) {
+		List<Long> distinctIds = ids.stream().distinct().toList();
+		int affected = 0;
+		for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+			affected += employeeRepository
+					.deleteByIds(distinctIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinctIds.size())));
+		}
+		// ids that did not exist are announced too; deleting them again is harmless for consumers
+		for (EmployeeWriteListener listener : writeListeners) {
+			listener.onBulkDeleted(distinctIds);
+		}
+		return new EmployeeBulkResult(distinctIds.size(), affected);
+	}
+
+	/**
+	 * Rejects a write based on a version the client read earlier. Hibernate's own
+	 * version check on flush still catches writes racing between load and save.
+	 */
+	private static void checkVersion(Employee savedEmployee, Long expectedVersion) {
+		if (expectedVersion != null && !expectedVersion.equals(savedEmployee.getVersion())) {
+			throw new ObjectOptimisticLockingFailureException(Employee.class, savedEmployee.getId());
+		}
+	}
+
+	private static RuntimeException translateViolation(DataIntegrityViolationException e, String message) {
+		if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+				&& violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Employee.EMAIL_CONSTRAINT)) {
+			return new ResourceExistsException(message);
+		}
+		return e;
 	}
 }
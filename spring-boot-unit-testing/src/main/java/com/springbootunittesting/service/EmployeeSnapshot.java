@@ -0,0 +1,287 @@
+package com.springbootunittesting.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+
+import com.springbootunittesting.entity.Employee;
+
+/**
+ * An immutable copy of the employees table held in a few primitive arrays
+ * instead of an object per row. Rows are sorted by id, so finding one is a
+ * binary search of the ids, and its columns sit at the same index of the other
+ * arrays. Names and emails live in one byte array of length-prefixed UTF-8
+ * strings, each distinct string once, and rows refer to them by offset. Emails
+ * are split at their last '@', so a domain is stored once for all its
+ * employees. Employees are built when they are read, so callers may change
+ * what they get back.
+ *
+ * A builder derived from a snapshot copies its strings and appends new ones
+ * after them, without looking for them among the old ones, so the strings of
+ * rows that changed or went away stay behind until a build from scratch.
+ */
+public final class EmployeeSnapshot {
+	private static final int NONE = -1;
+	private static final long NO_VERSION = Long.MIN_VALUE;
+
+	private final long[] ids;
+	private final long[] versions;
+	private final int[] firstNames;
+	private final int[] lastNames;
+	// the email before its last '@', and after it
+	private final int[] emailLocalParts;
+	private final int[] emailDomains;
+	private final byte[] strings;
+	private final int appendedStringBytes;
+
+	private EmployeeSnapshot(Builder builder) {
+		this.ids = Arrays.copyOf(builder.ids, builder.size);
+		this.versions = Arrays.copyOf(builder.versions, builder.size);
+		this.firstNames = Arrays.copyOf(builder.firstNames, builder.size);
+		this.lastNames = Arrays.copyOf(builder.lastNames, builder.size);
+		this.emailLocalParts = Arrays.copyOf(builder.emailLocalParts, builder.size);
+		this.emailDomains = Arrays.copyOf(builder.emailDomains, builder.size);
+		this.strings = Arrays.copyOf(builder.strings, builder.stringsLength);
+		this.appendedStringBytes = builder.base == null ? 0
+				: builder.base.appendedStringBytes + builder.stringsLength - builder.base.strings.length;
+	}
+
+	public static Builder builder(int expectedSize) {
+		return new Builder(null, expectedSize);
+	}
+
+	/**
+	 * A builder that starts with this snapshot's strings, so it can copy rows
+	 * of this snapshot without decoding them.
+	 */
+	public Builder derive(int expectedSize) {
+		return new Builder(this, expectedSize);
+	}
+
+	public int size() {
+		return ids.length;
+	}
+
+	public Optional<Employee> find(long id) {
+		int row = indexOf(id);
+		return row < 0 ? Optional.empty() : Optional.of(get(row));
+	}
+
+	public Employee get(int row) {
+		return Employee.builder().id(ids[row]).firstName(string(firstNames[row])).lastName(string(lastNames[row]))
+				.email(email(row)).version(versions[row] == NO_VERSION ? null : versions[row]).build();
+	}
+
+	/**
+	 * Every employee in id order, built as the list is read.
+	 */
+	public List<Employee> list() {
+		return new Rows(0, ids.length);
+	}
+
+	/**
+	 * Up to limit employees with an id greater than after, or from the first
+	 * one when after is null, in id order.
+	 */
+	public List<Employee> page(Long after, int limit) {
+		int from = 0;
+		if (after != null) {
+			int row = indexOf(after);
+			from = row >= 0 ? row + 1 : -row - 1;
+		}
+		return new Rows(from, (int) Math.min((long) from + limit, ids.length));
+	}
+
+	// the row of the id, or (-(insertion point) - 1) when there is none
+	int indexOf(long id) {
+		return Arrays.binarySearch(ids, id);
+	}
+
+	long getId(int row) {
+		return ids[row];
+	}
+
+	long getVersion(int row) {
+		return versions[row];
+	}
+
+	/**
+	 * Heap taken by the arrays, with their headers.
+	 */
+	public long getBytes() {
+		return 2 * arrayBytes(ids.length, Long.BYTES) + 4 * arrayBytes(ids.length, Integer.BYTES)
+				+ arrayBytes(strings.length, 1);
+	}
+
+	public int getStringBytes() {
+		return strings.length;
+	}
+
+	/**
+	 * Bytes of strings added by derived builders since the last build from
+	 * scratch, an upper bound on the bytes no row uses any more.
+	 */
+	public int getAppendedStringBytes() {
+		return appendedStringBytes;
+	}
+
+	private String email(int row) {
+		String localPart = string(emailLocalParts[row]);
+		return emailDomains[row] == NONE ? localPart : localPart + '@' + string(emailDomains[row]);
+	}
+
+	private String string(int offset) {
+		if (offset == NONE) {
+			return null;
+		}
+		int length = 0;
+		int shift = 0;
+		byte next;
+		do {
+			next = strings[offset++];
+			length |= (next & 0x7f) << shift;
+			shift += 7;
+		} while (next < 0);
+		return new String(strings, offset, length, StandardCharsets.UTF_8);
+	}
+
+	private static long arrayBytes(int length, int elementBytes) {
+		return (16 + (long) length * elementBytes + 7) & ~7L;
+	}
+
+	private final class Rows extends AbstractList<Employee> implements RandomAccess {
+		private final int from;
+		private final int to;
+
+		private Rows(int from, int to) {
+			this.from = from;
+			this.to = Math.max(from, to);
+		}
+
+		@Override
+		public Employee get(int index) {
+			return EmployeeSnapshot.this.get(from + Objects.checkIndex(index, to - from));
+		}
+
+		@Override
+		public int size() {
+			return to - from;
+		}
+	}
+
+	/**
+	 * Collects rows in ascending id order. Its arrays are copied when built, so
+	 * the snapshot shares nothing with it.
+	 */
+	public static final class Builder {
+		private final EmployeeSnapshot base;
+		// offsets of the strings this builder appended
+		private final Map<String, Integer> offsets = new HashMap<>();
+		private long[] ids;
+		private long[] versions;
+		private int[] firstNames;
+		private int[] lastNames;
+		private int[] emailLocalParts;
+		private int[] emailDomains;
+		private int size;
+		private byte[] strings;
+		private int stringsLength;
+
+		private Builder(EmployeeSnapshot base, int expectedSize) {
+			this.base = base;
+			int capacity = Math.max(16, expectedSize);
+			ids = new long[capacity];
+			versions = new long[capacity];
+			firstNames = new int[capacity];
+			lastNames = new int[capacity];
+			emailLocalParts = new int[capacity];
+			emailDomains = new int[capacity];
+			if (base == null) {
+				strings = new byte[capacity * 16];
+			} else {
+				strings = Arrays.copyOf(base.strings, base.strings.length + 1024);
+				stringsLength = base.strings.length;
+			}
+		}
+
+		public Builder add(Employee employee) {
+			String email = employee.getEmail();
+			int at = email == null ? -1 : email.lastIndexOf('@');
+			addRow(employee.getId(), employee.getVersion() == null ? NO_VERSION : employee.getVersion(),
+					intern(employee.getFirstName()), intern(employee.getLastName()),
+					intern(at < 0 ? email : email.substring(0, at)), at < 0 ? NONE : intern(email.substring(at + 1)));
+			return this;
+		}
+
+		/**
+		 * Adds a row of the snapshot this builder was derived from, as it is.
+		 */
+		public Builder copy(int row) {
+			addRow(base.ids[row], base.versions[row], base.firstNames[row], base.lastNames[row],
+					base.emailLocalParts[row], base.emailDomains[row]);
+			return this;
+		}
+
+		public EmployeeSnapshot build() {
+			return new EmployeeSnapshot(this);
+		}
+
+		private void addRow(long id, long version, int firstName, int lastName, int emailLocalPart, int emailDomain) {
+			if (size > 0 && id <= ids[size - 1]) {
+				throw new IllegalArgumentException(
+						"Employees must be added in ascending id order, got " + id + " after " + ids[size - 1]);
+			}
+			if (size == ids.length) {
+				int capacity = size * 2;
+				ids = Arrays.copyOf(ids, capacity);
+				versions = Arrays.copyOf(versions, capacity);
+				firstNames = Arrays.copyOf(firstNames, capacity);
+				lastNames = Arrays.copyOf(lastNames, capacity);
+				emailLocalParts = Arrays.copyOf(emailLocalParts, capacity);
+				emailDomains = Arrays.copyOf(emailDomains, capacity);
+			}
+			ids[size] = id;
+			versions[size] = version;
+			firstNames[size] = firstName;
+			lastNames[size] = lastName;
+			emailLocalParts[size] = emailLocalPart;
+			emailDomains[size] = emailDomain;
+			size++;
+		}
+
+		private int intern(String value) {
+			if (value == null) {
+				return NONE;
+			}
+			Integer offset = offsets.get(value);
+			if (offset == null) {
+				offset = append(value.getBytes(StandardCharsets.UTF_8));
+				offsets.put(value, offset);
+			}
+			return offset;
+		}
+
+		// a length of up to 127 bytes takes one byte, longer ones 7 bits per byte
+		private int append(byte[] value) {
+			if (stringsLength + value.length + 5 > strings.length) {
+				strings = Arrays.copyOf(strings, Math.max(strings.length * 2, stringsLength + value.length + 5));
+			}
+			int offset = stringsLength;
+			int length = value.length;
+			while (length >= 0x80) {
+				strings[stringsLength++] = (byte) (length | 0x80);
+				length >>>= 7;
+			}
+			strings[stringsLength++] = (byte) length;
+			System.arraycopy(value, 0, strings, stringsLength, value.length);
+			stringsLength += value.length;
+			return offset;
+		}
+	}
+}
@@ -0,0 +1,247 @@
+package com.springbootunittesting.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.springbootunittesting.dto.EmployeeVersion;
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.repository.EmployeeRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Holds the current {@link EmployeeSnapshot} for SnapshotEmployeeService. A
+ * background thread loads it at startup and refreshes it every refresh
+ * interval: it reads the id and version of every row, fetches only the rows
+ * that are new or have a new version, and copies the rest from the current
+ * snapshot. It builds from scratch instead when more than a quarter of the
+ * rows changed, when replaced strings may take up a third of the snapshot's
+ * strings, and once per rebuild interval, which also picks up changes made
+ * without bumping the version. The finished snapshot replaces the current one
+ * with a single volatile write, so readers never wait and always see one
+ * consistent snapshot.
+ *
+ * Refreshes run in read-only transactions, which go to a replica when read
+ * replicas are configured.
+ */
+@Component
+@ConditionalOnProperty(prefix = "employee.snapshot", name = "enabled", havingValue = "true")
+public class EmployeeSnapshotStore {
+	private static final Logger log = LoggerFactory.getLogger(EmployeeSnapshotStore.class);
+	private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+	// in source rows, marks a row that has to be fetched
+	private static final int FETCH = -1;
+
+	private final EmployeeRepository employeeRepository;
+	private final TransactionTemplate readOnly;
+	private final Duration refreshInterval;
+	private final Duration rebuildInterval;
+	private final AtomicBoolean refreshRequested = new AtomicBoolean();
+	private ScheduledExecutorService refresher;
+	private volatile EmployeeSnapshot snapshot;
+	private volatile Instant refreshedAt;
+	// only touched by the refreshing thread
+	private Instant rebuiltAt;
+
+	public EmployeeSnapshotStore(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager,
+			ObjectProvider<MeterRegistry> meterRegistry,
+			@Value("${employee.snapshot.refresh-interval:10s}") Duration refreshInterval,
+			@Value("${employee.snapshot.rebuild-interval:1h}") Duration rebuildInterval) {
+		this.employeeRepository = employeeRepository;
+		this.readOnly = new TransactionTemplate(transactionManager);
+		this.readOnly.setReadOnly(true);
+		this.refreshInterval = refreshInterval;
+		this.rebuildInterval = rebuildInterval;
+		meterRegistry.ifAvailable(registry -> {
+			Gauge.builder("employee.snapshot.employees", this, EmployeeSnapshotStore::size).register(registry);
+			Gauge.builder("employee.snapshot.bytes", this, EmployeeSnapshotStore::bytes).baseUnit("bytes")
+					.register(registry);
+		});
+	}
+
+	@PostConstruct
+	public void start() {
+		refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "employee-snapshot-refresher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void close() {
+		refresher.shutdownNow();
+	}
+
+	/**
+	 * The current snapshot, or null until the first one is loaded.
+	 */
+	public EmployeeSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	public Instant getRefreshedAt() {
+		return refreshedAt;
+	}
+
+	/**
+	 * Schedules a refresh once the current transaction commits, so writes made
+	 * on this node show up before the next scheduled one. Requests made while
+	 * one is already waiting share it.
+	 */
+	public void refreshSoon() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					requestRefresh();
+				}
+			});
+		} else {
+			requestRefresh();
+		}
+	}
+
+	/**
+	 * Brings the snapshot up to date with the database and swaps it in.
+	 */
+	public synchronized void refresh() {
+		refreshRequested.set(false);
+		EmployeeSnapshot current = snapshot;
+		EmployeeSnapshot next = readOnly.execute(status -> {
+			if (current == null || current.getAppendedStringBytes() * 3L > current.getStringBytes()
+					|| Instant.now().isAfter(rebuiltAt.plus(rebuildInterval))) {
+				return rebuild();
+			}
+			EmployeeSnapshot updated = update(current);
+			return updated != null ? updated : rebuild();
+		});
+		snapshot = next;
+		refreshedAt = Instant.now();
+	}
+
+	private EmployeeSnapshot rebuild() {
+		EmployeeSnapshot current = snapshot;
+		EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder(current == null ? 1024 : current.size());
+		try (Stream<Employee> employees = employeeRepository.streamAll()) {
+			employees.forEach(builder::add);
+		}
+		EmployeeSnapshot rebuilt = builder.build();
+		rebuiltAt = Instant.now();
+		if (current == null) {
+			log.info("Employee snapshot loaded: {} employees in {} bytes, {} per employee", rebuilt.size(),
+					rebuilt.getBytes(), rebuilt.size() == 0 ? 0 : rebuilt.getBytes() / rebuilt.size());
+		} else {
+			log.debug("Employee snapshot rebuilt: {} employees in {} bytes", rebuilt.size(), rebuilt.getBytes());
+		}
+		return rebuilt;
+	}
+
+	/**
+	 * The current snapshot when nothing changed, a snapshot derived from it,
+	 * or null when so much changed that building from scratch is cheaper.
+	 */
+	private EmployeeSnapshot update(EmployeeSnapshot current) {
+		int expectedSize = current.size() + 16;
+		long[] ids = new long[expectedSize];
+		int[] sourceRows = new int[expectedSize];
+		List<Long> changedIds = new ArrayList<>();
+		int size = 0;
+		int row = 0;
+		try (Stream<EmployeeVersion> versions = employeeRepository.streamVersions()) {
+			for (Iterator<EmployeeVersion> iterator = versions.iterator(); iterator.hasNext();) {
+				EmployeeVersion version = iterator.next();
+				long id = version.getId();
+				while (row < current.size() && current.getId(row) < id) {
+					row++;
+				}
+				boolean unchanged = row < current.size() && current.getId(row) == id
+						&& version.getVersion() != null && current.getVersion(row) == version.getVersion();
+				if (!unchanged) {
+					changedIds.add(id);
+					if (changedIds.size() > current.size() / 4) {
+						return null;
+					}
+				}
+				if (size == ids.length) {
+					ids = Arrays.copyOf(ids, size * 2);
+					sourceRows = Arrays.copyOf(sourceRows, size * 2);
+				}
+				ids[size] = id;
+				sourceRows[size] = unchanged ? row : FETCH;
+				size++;
+			}
+		}
+		if (changedIds.isEmpty() && size == current.size()) {
+			return current;
+		}
+		Map<Long, Employee> changed = new HashMap<>();
+		for (int from = 0; from < changedIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+			employeeRepository
+					.listByIds(changedIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, changedIds.size())))
+					.forEach(employee -> changed.put(employee.getId(), employee));
+		}
+		EmployeeSnapshot.Builder builder = current.derive(size);
+		for (int i = 0; i < size; i++) {
+			if (sourceRows[i] != FETCH) {
+				builder.copy(sourceRows[i]);
+			} else if (changed.containsKey(ids[i])) {
+				// rows deleted since their version was read are left out
+				builder.add(changed.get(ids[i]));
+			}
+		}
+		EmployeeSnapshot updated = builder.build();
+		log.debug("Employee snapshot refreshed: {} employees, {} fetched", updated.size(), changed.size());
+		return updated;
+	}
+
+	private void requestRefresh() {
+		if (refreshRequested.compareAndSet(false, true)) {
+			refresher.execute(this::refreshQuietly);
+		}
+	}
+
+	private void refreshQuietly() {
+		try {
+			refresh();
+		} catch (RuntimeException e) {
+			log.warn("Could not refresh the employee snapshot, keeping the current one", e);
+		}
+	}
+
+	private int size() {
+		EmployeeSnapshot current = snapshot;
+		return current == null ? 0 : current.size();
+	}
+
+	private long bytes() {
+		EmployeeSnapshot current = snapshot;
+		return current == null ? 0 : current.getBytes();
+	}
+}
@@ -0,0 +1,266 @@
+package com.springbootunittesting.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.springbootunittesting.dto.EmployeeDomainCount;
+import com.springbootunittesting.dto.EmployeeStats;
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.repository.EmployeeRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Employee counts, overall and per email domain, kept in memory and adjusted
+ * by the service on every create, update and delete, so reading them never
+ * touches the table. Changes made in a transaction are counted once it
+ * commits. Bulk updates and deletes do not say which domains they touched;
+ * they ask for a recount instead.
+ *
+ * A background thread recounts with one GROUP BY query at startup and then
+ * every reconcile interval, replacing the counters. Changes counted while the
+ * query runs are added on top of its result. A change that commits just
+ * before the query but is counted after it starts is counted twice, until
+ * the next recount.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(prefix = "employee.stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeStatsCounter implements EmployeeWriteListener {
+	private static final Logger log = LoggerFactory.getLogger(EmployeeStatsCounter.class);
+
+	private final EmployeeRepository employeeRepository;
+	private final Duration reconcileInterval;
+	private final AtomicBoolean recountRequested = new AtomicBoolean();
+	private ScheduledExecutorService reconciler;
+	// guarded by this
+	private Map<String, Long> domains = new HashMap<>();
+	private long total;
+	private Instant reconciledAt;
+	// changes counted since the running recount started, null when none is running
+	private Map<String, Long> countedDuringRecount;
+	// bumped under the lock on every change, read without it
+	private volatile long changes;
+	// the last sorted view handed out, reused until the counts change
+	private volatile SortedView sortedView;
+
+	public EmployeeStatsCounter(EmployeeRepository employeeRepository,
+			@Value("${employee.stats.reconcile-interval:5m}") Duration reconcileInterval) {
+		this.employeeRepository = employeeRepository;
+		this.reconcileInterval = reconcileInterval;
+	}
+
+	@PostConstruct
+	public void start() {
+		reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "employee-stats-reconciler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		reconciler.scheduleWithFixedDelay(() -> reconcileQuietly(true), 0, reconcileInterval.toMillis(),
+				TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void close() {
+		reconciler.shutdownNow();
+	}
+
+	public void created(String email) {
+		afterCommit(() -> add(domainOf(email), 1));
+	}
+
+	public void updated(String previousEmail, String email) {
+		String previousDomain = domainOf(previousEmail);
+		String domain = domainOf(email);
+		if (!previousDomain.equals(domain)) {
+			afterCommit(() -> {
+				add(previousDomain, -1);
+				add(domain, 1);
+			});
+		}
+	}
+
+	public void deleted(String email) {
+		afterCommit(() -> add(domainOf(email), -1));
+	}
+
+	@Override
+	public void onCreated(Employee employee) {
+		created(employee.getEmail());
+	}
+
+	@Override
+	public void onUpdated(Employee employee, String previousEmail) {
+		updated(previousEmail, employee.getEmail());
+	}
+
+	@Override
+	public void onDeleted(Long id, String email) {
+		if (email != null) {
+			deleted(email);
+		}
+	}
+
+	@Override
+	public void onBulkUpdated(List<Employee> employees) {
+		if (!employees.isEmpty()) {
+			recount();
+		}
+	}
+
+	@Override
+	public void onBulkDeleted(List<Long> ids) {
+		recount();
+	}
+
+	/**
+	 * Schedules a recount once the current transaction commits. Requests made
+	 * while one is already waiting share it.
+	 */
+	public void recount() {
+		afterCommit(() -> {
+			if (recountRequested.compareAndSet(false, true)) {
+				reconciler.execute(() -> reconcileQuietly(false));
+			}
+		});
+	}
+
+	/**
+	 * The total and the count of one domain only, so the cost does not grow
+	 * with the number of domains either.
+	 */
+	public synchronized EmployeeStats getStats(String domain) {
+		String key = domain.toLowerCase(Locale.ROOT);
+		return new EmployeeStats(total, Map.of(key, domains.getOrDefault(key, 0L)), reconciledAt);
+	}
+
+	/**
+	 * Sorted outside the lock from a copy of the counts, so writers only wait
+	 * for the copy, and only after the counts changed since the last call.
+	 */
+	public EmployeeStats getStats() {
+		SortedView view = sortedView;
+		if (view == null || view.changes() != changes) {
+			long copiedChanges;
+			Map<String, Long> copy;
+			long copiedTotal;
+			Instant copiedReconciledAt;
+			synchronized (this) {
+				copiedChanges = changes;
+				copy = new HashMap<>(domains);
+				copiedTotal = total;
+				copiedReconciledAt = reconciledAt;
+			}
+			Map<String, Long> sorted = new LinkedHashMap<>();
+			copy.entrySet().stream()
+					.sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+							.thenComparing(Map.Entry.comparingByKey()))
+					.forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+			view = new SortedView(copiedChanges, copiedTotal, Collections.unmodifiableMap(sorted), copiedReconciledAt);
+			sortedView = view;
+		}
+		return new EmployeeStats(view.total(), view.domains(), view.reconciledAt());
+	}
+
+	/**
+	 * Replaces the counters with a fresh count from the database.
+	 */
+	public void reconcile() {
+		reconcile(true);
+	}
+
+	// differences are only worth reporting when no bulk change asked for the recount
+	private void reconcile(boolean reportDrift) {
+		recountRequested.set(false);
+		synchronized (this) {
+			countedDuringRecount = new HashMap<>();
+		}
+		List<EmployeeDomainCount> counts;
+		try {
+			counts = employeeRepository.countByEmailDomain();
+		} catch (RuntimeException e) {
+			synchronized (this) {
+				countedDuringRecount = null;
+			}
+			throw e;
+		}
+		synchronized (this) {
+			Map<String, Long> recounted = new HashMap<>();
+			counts.forEach(count -> recounted.put(count.getDomain(), count.getEmployees()));
+			countedDuringRecount.forEach((domain, delta) -> recounted.merge(domain, delta, Long::sum));
+			recounted.values().removeIf(count -> count <= 0);
+			long recountedTotal = recounted.values().stream().mapToLong(Long::longValue).sum();
+			if (reportDrift && reconciledAt != null && !recounted.equals(domains)) {
+				log.info("Employee stats had drifted from the database ({} counted, {} stored), corrected", total,
+						recountedTotal);
+			}
+			domains = recounted;
+			total = recountedTotal;
+			reconciledAt = Instant.now();
+			countedDuringRecount = null;
+			changes++;
+		}
+	}
+
+	private void reconcileQuietly(boolean reportDrift) {
+		try {
+			reconcile(reportDrift);
+		} catch (RuntimeException e) {
+			log.warn("Could not recount employee stats, keeping the current counts", e);
+		}
+	}
+
+	private synchronized void add(String domain, long delta) {
+		if (domains.merge(domain, delta, Long::sum) == 0) {
+			domains.remove(domain);
+		}
+		total += delta;
+		changes++;
+		if (countedDuringRecount != null) {
+			countedDuringRecount.merge(domain, delta, Long::sum);
+		}
+	}
+
+	// the same rule as EmployeeRepository.EMAIL_DOMAIN
+	static String domainOf(String email) {
+		return email.substring(email.indexOf('@') + 1).toLowerCase(Locale.ROOT);
+	}
+
+	private static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+
+	private record SortedView(long changes, long total, Map<String, Long> domains, Instant reconciledAt) {
+	}
+}
@@ -0,0 +1,183 @@
+package com.springbootunittesting.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.springbootunittesting.dto.EmployeeBatchResult;
+import com.springbootunittesting.dto.EmployeeWriteStatus;
+import com.springbootunittesting.dto.EmployeeWriteStatus.State;
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.exception.ResourceExistsException;
+import com.springbootunittesting.exception.WriteQueueFullException;
+
+/**
+ * Write-behind mode for employee creation. Creates are accepted into a bounded
+ * queue and written by a single worker thread through
+ * {@link EmployeeService#saveEmployees}, one transaction per batch. The worker
+ * takes everything queued up to the batch size, so batches grow with the
+ * backlog during bursts. If a batch fails as a whole its rows are retried one
+ * at a time, so one bad row only fails itself. A full queue rejects new
+ * creates instead of blocking the request thread.
+ *
+ * The queue stops after the web server (a lower lifecycle phase), so no new
+ * creates arrive while the remaining items are flushed on shutdown.
+ */
+@Component
+@ConditionalOnProperty(prefix = "employee.write-behind", name = "enabled", havingValue = "true")
+public class EmployeeWriteBehindQueue implements SmartLifecycle {
+	private static final Logger log = LoggerFactory.getLogger(EmployeeWriteBehindQueue.class);
+	private static final long POLL_MILLIS = 100;
+
+	private final EmployeeService employeeService;
+	private final BlockingQueue<Pending> queue;
+	private final int batchSize;
+	private final Duration shutdownTimeout;
+	// statuses of creates not written yet, at most a queue and a batch of them
+	private final Map<String, EmployeeWriteStatus> pendingStatuses = new ConcurrentHashMap<>();
+	private final Cache<String, EmployeeWriteStatus> completedStatuses;
+	private volatile boolean running;
+	private Thread worker;
+
+	public EmployeeWriteBehindQueue(EmployeeService employeeService,
+			@Value("${employee.write-behind.capacity:10000}") int capacity,
+			@Value("${employee.write-behind.batch-size:500}") int batchSize,
+			@Value("${employee.write-behind.shutdown-timeout:30s}") Duration shutdownTimeout,
+			@Value("${employee.write-behind.status-retention:1h}") Duration statusRetention) {
+		this.employeeService = employeeService;
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.batchSize = batchSize;
+		this.shutdownTimeout = shutdownTimeout;
+		// only outcomes may be evicted, a client polling a create still queued must always find it
+		this.completedStatuses = Caffeine.newBuilder().maximumSize(capacity * 10L).expireAfterWrite(statusRetention)
+				.build();
+	}
+
+	public EmployeeWriteStatus submit(Employee employee) {
+		if (!running) {
+			throw new WriteQueueFullException("Employee write queue is shut down");
+		}
+		EmployeeWriteStatus status = new EmployeeWriteStatus(UUID.randomUUID().toString(), State.PENDING, null,
+				null);
+		pendingStatuses.put(status.getTrackingId(), status);
+		if (!queue.offer(new Pending(status.getTrackingId(), employee))) {
+			pendingStatuses.remove(status.getTrackingId());
+			throw new WriteQueueFullException("Employee write queue is full, retry later");
+		}
+		return status;
+	}
+
+	public EmployeeWriteStatus getStatus(String trackingId) {
+		EmployeeWriteStatus status = pendingStatuses.get(trackingId);
+		return status != null ? status : completedStatuses.getIfPresent(trackingId);
+	}
+
+	public int getQueued() {
+		return queue.size();
+	}
+
+	@Override
+	public void start() {
+		running = true;
+		worker = new Thread(this::drain, "employee-write-behind");
+		worker.start();
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		try {
+			worker.join(shutdownTimeout.toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (!queue.isEmpty()) {
+			log.warn("Employee write queue stopped with {} unwritten creates", queue.size());
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE - 4096;
+	}
+
+	private void drain() {
+		List<Pending> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				Pending first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+				write(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	void write(List<Pending> batch) {
+		Map<Employee, String> trackingIds = new IdentityHashMap<>();
+		batch.forEach(pending -> trackingIds.put(pending.employee(), pending.trackingId()));
+		try {
+			EmployeeBatchResult result = employeeService
+					.saveEmployees(batch.stream().map(Pending::employee).toList());
+			result.getAccepted().forEach(employee -> complete(trackingIds.get(employee), State.CREATED,
+					employee.getId(), null));
+			result.getRejected().forEach(employee -> complete(trackingIds.get(employee), State.REJECTED, null,
+					"Employee already exists with given email: " + employee.getEmail()));
+		} catch (RuntimeException e) {
+			log.warn("Employee write batch of {} failed, retrying one by one", batch.size(), e);
+			batch.forEach(this::writeOne);
+		}
+	}
+
+	private void writeOne(Pending pending) {
+		// the rolled back batch may have assigned an id already
+		pending.employee().setId(null);
+		try {
+			complete(pending.trackingId(), State.CREATED, employeeService.saveEmployee(pending.employee()).getId(),
+					null);
+		} catch (ResourceExistsException e) {
+			complete(pending.trackingId(), State.REJECTED, null,
+					"Employee already exists with given email: " + pending.employee().getEmail());
+		} catch (RuntimeException e) {
+			complete(pending.trackingId(), State.FAILED, null, e.getMessage());
+		}
+	}
+
+	private void complete(String trackingId, State state, Long employeeId, String message) {
+		// the outcome is stored first, so a status lookup in between finds one or the other
+		completedStatuses.put(trackingId, new EmployeeWriteStatus(trackingId, state, employeeId, message));
+		pendingStatuses.remove(trackingId);
+	}
+
+	record Pending(String trackingId, Employee employee) {
+	}
+}
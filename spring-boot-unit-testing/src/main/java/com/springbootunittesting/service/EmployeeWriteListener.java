@@ -0,0 +1,37 @@
+package com.springbootunittesting.service;
+
+import java.util.List;
+
+import com.springbootunittesting.entity.Employee;
+
+/**
+ * Something kept in step with the employees table, told by EmployeeServiceImpl
+ * about every write it makes, once per write, from inside the write's
+ * transaction. Listeners that must not act on rolled back writes defer the
+ * work until the transaction commits.
+ */
+public interface EmployeeWriteListener {
+	default void onCreated(Employee employee) {
+	}
+
+	// previousEmail is null when it is not known
+	default void onUpdated(Employee employee, String previousEmail) {
+	}
+
+	// email is null when it is not known, or when the row was already deleted by someone else
+	default void onDeleted(Long id, String email) {
+	}
+
+	/**
+	 * Employees rewritten by one bulk statement, as they are now; the statement
+	 * does not say what they held before.
+	 */
+	default void onBulkUpdated(List<Employee> employees) {
+		employees.forEach(employee -> onUpdated(employee, null));
+	}
+
+	// every id asked for, including ids that did not exist
+	default void onBulkDeleted(List<Long> ids) {
+		ids.forEach(id -> onDeleted(id, null));
+	}
+}
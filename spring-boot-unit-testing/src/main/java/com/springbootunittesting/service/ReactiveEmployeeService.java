@@ -0,0 +1,18 @@
+package com.springbootunittesting.service;
+
+import com.springbootunittesting.entity.Employee;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeService {
+	Mono<Employee> saveEmployee(Employee employee);
+
+	Flux<Employee> getAllEmployees();
+
+	Mono<Employee> getEmployee(Long id);
+
+	Mono<Employee> updateEmployee(Long id, Employee employee);
+
+	Mono<Void> deleteEmployee(Long id);
+}
@@ -0,0 +1,87 @@
+package com.springbootunittesting.service;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.exception.ResourceExistsException;
+import com.springbootunittesting.exception.ResourceNotFoundException;
+import com.springbootunittesting.repository.ReactiveEmployeeRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+	@Autowired
+	private ReactiveEmployeeRepository employeeRepository;
+
+	public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository employeeRepository) {
+		this.employeeRepository = employeeRepository;
+	}
+
+	@Override
+	public Mono<Employee> saveEmployee(Employee employee) {
+		return employeeRepository.insert(employee).onErrorMap(ReactiveEmployeeServiceImpl::isDuplicateEmail,
+				e -> new ResourceExistsException("Employee already exists with given email: " + employee.getEmail()));
+	}
+
+	@Override
+	public Flux<Employee> getAllEmployees() {
+		return employeeRepository.findAll();
+	}
+
+	@Override
+	public Mono<Employee> getEmployee(Long id) {
+		return employeeRepository.findById(id);
+	}
+
+	@Override
+	public Mono<Employee> updateEmployee(Long id, Employee employee) {
+		return employeeRepository.findById(id)
+				.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Employee does not exist with id: " + id)))
+				.flatMap(savedEmployee -> {
+					savedEmployee.setFirstName(employee.getFirstName());
+					savedEmployee.setLastName(employee.getLastName());
+					savedEmployee.setEmail(employee.getEmail());
+					return employeeRepository.update(savedEmployee).flatMap(rows -> {
+						if (rows == 0) {
+							return Mono.error(new ObjectOptimisticLockingFailureException(Employee.class, id));
+						}
+						savedEmployee.setVersion(savedEmployee.getVersion() + 1);
+						return Mono.just(savedEmployee);
+					});
+				}).onErrorMap(ReactiveEmployeeServiceImpl::isDuplicateEmail, e -> new ResourceExistsException(
+						"Employee already exists with given email: " + employee.getEmail()));
+	}
+
+	@Override
+	public Mono<Void> deleteEmployee(Long id) {
+		return employeeRepository.deleteById(id).then();
+	}
+
+	/**
+	 * R2DBC reports no constraint name, so the email constraint is looked for
+	 * in the driver's messages; other violations, NOT NULL and length among
+	 * them, are left as they are.
+	 */
+	private static boolean isDuplicateEmail(Throwable e) {
+		if (!(e instanceof DataIntegrityViolationException)) {
+			return false;
+		}
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause.getMessage() != null
+					&& cause.getMessage().toLowerCase(Locale.ROOT).contains(Employee.EMAIL_CONSTRAINT)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
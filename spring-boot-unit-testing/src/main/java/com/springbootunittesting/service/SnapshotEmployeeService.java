@@ -0,0 +1,147 @@
+package com.springbootunittesting.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.springbootunittesting.dto.EmployeeBatchResult;
+import com.springbootunittesting.dto.EmployeeBulkResult;
+import com.springbootunittesting.dto.EmployeePage;
+import com.springbootunittesting.entity.Employee;
+
+/**
+ * Answers reads from the in-memory snapshot kept by
+ * {@link EmployeeSnapshotStore}, for nodes that read far more than anything
+ * changes. Reads never touch the database and may be up to a refresh interval
+ * behind it. Writes are left to EmployeeServiceImpl and ask for a refresh once
+ * they commit; until it has run, reads on this node do not see them. Reads go
+ * to EmployeeServiceImpl as well until the first snapshot is loaded, and
+ * search always does, since the search index already answers it from memory.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "employee.snapshot", name = "enabled", havingValue = "true")
+public class SnapshotEmployeeService implements EmployeeService {
+	private final EmployeeServiceImpl employeeService;
+	private final EmployeeSnapshotStore snapshotStore;
+	@Value("${employee.page.max-limit:500}")
+	private int maxPageLimit = 500;
+
+	public SnapshotEmployeeService(EmployeeServiceImpl employeeService, EmployeeSnapshotStore snapshotStore) {
+		this.employeeService = employeeService;
+		this.snapshotStore = snapshotStore;
+	}
+
+	@Override
+	public Employee saveEmployee(Employee employee) {
+		Employee savedEmployee = employeeService.saveEmployee(employee);
+		snapshotStore.refreshSoon();
+		return savedEmployee;
+	}
+
+	@Override
+	public EmployeeBatchResult saveEmployees(List<Employee> employees) {
+		EmployeeBatchResult result = employeeService.saveEmployees(employees);
+		snapshotStore.refreshSoon();
+		return result;
+	}
+
+	@Override
+	public List<Employee> getAllEmployees() {
+		EmployeeSnapshot snapshot = snapshotStore.getSnapshot();
+		return snapshot != null ? snapshot.list() : employeeService.getAllEmployees();
+	}
+
+	@Override
+	public EmployeePage getEmployees(Long after, int limit) {
+		EmployeeSnapshot snapshot = snapshotStore.getSnapshot();
+		if (snapshot == null) {
+			return employeeService.getEmployees(after, limit);
+		}
+		int pageSize = Math.max(1, Math.min(limit, maxPageLimit));
+		List<Employee> employees = snapshot.page(after, pageSize);
+		Long nextCursor = employees.size() < pageSize ? null : employees.get(employees.size() - 1).getId();
+		return new EmployeePage(employees, nextCursor);
+	}
+
+	@Override
+	public void exportEmployees(Consumer<Employee> consumer) {
+		EmployeeSnapshot snapshot = snapshotStore.getSnapshot();
+		if (snapshot == null) {
+			employeeService.exportEmployees(consumer);
+			return;
+		}
+		for (int row = 0; row < snapshot.size(); row++) {
+			consumer.accept(snapshot.get(row));
+		}
+	}
+
+	@Override
+	public List<Employee> searchEmployees(String query, int limit) {
+		return employeeService.searchEmployees(query, limit);
+	}
+
+	@Override
+	public Optional<Employee> getEmployee(Long id) {
+		EmployeeSnapshot snapshot = snapshotStore.getSnapshot();
+		return snapshot != null ? snapshot.find(id) : employeeService.getEmployee(id);
+	}
+
+	@Override
+	public List<Employee> getEmployeesById(List<Long> ids) {
+		EmployeeSnapshot snapshot = snapshotStore.getSnapshot();
+		if (snapshot == null) {
+			return employeeService.getEmployeesById(ids);
+		}
+		List<Long> distinctIds = ids.stream().distinct().toList();
+		if (distinctIds.size() > maxPageLimit) {
+			throw new IllegalArgumentException("At most " + maxPageLimit + " ids can be requested at once");
+		}
+		return distinctIds.stream().map(snapshot::find).flatMap(Optional::stream).toList();
+	}
+
+	@Override
+	public Employee updateEmployee(Long id, Employee employee) {
+		Employee savedEmployee = employeeService.updateEmployee(id, employee);
+		snapshotStore.refreshSoon();
+		return savedEmployee;
+	}
+
+	@Override
+	public Employee patchEmployee(Long id, Employee changes) {
+		Employee savedEmployee = employeeService.patchEmployee(id, changes);
+		snapshotStore.refreshSoon();
+		return savedEmployee;
+	}
+
+	@Override
+	public void deleteEmployee(Long id) {
+		employeeService.deleteEmployee(id);
+		snapshotStore.refreshSoon();
+	}
+
+	@Override
+	public void deleteEmployee(Long id, Long expectedVersion) {
+		employeeService.deleteEmployee(id, expectedVersion);
+		snapshotStore.refreshSoon();
+	}
+
+	@Override
+	public EmployeeBulkResult updateEmailDomain(List<Long> ids, String domain) {
+		EmployeeBulkResult result = employeeService.updateEmailDomain(ids, domain);
+		snapshotStore.refreshSoon();
+		return result;
+	}
+
+	@Override
+	public EmployeeBulkResult deleteEmployees(List<Long> ids) {
+		EmployeeBulkResult result = employeeService.deleteEmployees(ids);
+		snapshotStore.refreshSoon();
+		return result;
+	}
+}
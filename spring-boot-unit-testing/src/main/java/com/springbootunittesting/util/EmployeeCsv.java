@@ -0,0 +1,154 @@
+package com.springbootunittesting.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import com.springbootunittesting.entity.Employee;
+
+public final class EmployeeCsv {
+	public static final String HEADER = "id,firstName,lastName,email\n";
+
+	private EmployeeCsv() {
+	}
+
+	public static String toLine(Employee employee) {
+		return new StringBuilder(64).append(employee.getId()).append(',').append(escape(employee.getFirstName()))
+				.append(',').append(escape(employee.getLastName())).append(',').append(escape(employee.getEmail()))
+				.append('\n').toString();
+	}
+
+	/**
+	 * Splits one record into its fields, undoing the quoting applied by
+	 * {@link #toLine}. An unterminated quote runs to the end of the record.
+	 */
+	public static List<String> parse(String record) {
+		List<String> fields = new ArrayList<>(4);
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < record.length(); i++) {
+			char c = record.charAt(i);
+			if (quoted) {
+				if (c != '"') {
+					field.append(c);
+				} else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else {
+					quoted = false;
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	static String escape(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	/**
+	 * Reads CSV records line by line, joining lines while a quoted field is
+	 * still open, and remembers the line each record started on. A record that
+	 * would grow past the maximum length or number of lines, usually because of
+	 * a stray quote, is given up: {@link #isTooLong()} reports it, and reading
+	 * carries on at the line after the one it started on.
+	 */
+	public static final class RecordReader {
+		private final BufferedReader reader;
+		private final int maxLength;
+		private final int maxLines;
+		// lines read past the start of a record that was given up, to be read again
+		private final Deque<String> readAgain = new ArrayDeque<>();
+		private long line;
+		private long recordLine;
+		private boolean tooLong;
+
+		public RecordReader(BufferedReader reader, int maxLength, int maxLines) {
+			this.reader = reader;
+			this.maxLength = maxLength;
+			this.maxLines = maxLines;
+		}
+
+		/**
+		 * The next record, null at the end of the input. Only the first line of
+		 * a record that is too long is returned.
+		 */
+		public String next() throws IOException {
+			String first = readLine();
+			if (first == null) {
+				return null;
+			}
+			recordLine = line;
+			tooLong = false;
+			boolean open = toggleQuotes(first, false);
+			if (!open) {
+				return first;
+			}
+			StringBuilder record = new StringBuilder(first);
+			List<String> continuation = new ArrayList<>();
+			while (open) {
+				String next = readLine();
+				if (next == null) {
+					break;
+				}
+				continuation.add(next);
+				if (record.length() + 1 + next.length() > maxLength || continuation.size() + 1 > maxLines) {
+					for (int i = continuation.size() - 1; i >= 0; i--) {
+						readAgain.push(continuation.get(i));
+					}
+					line = recordLine;
+					tooLong = true;
+					return first;
+				}
+				record.append('\n').append(next);
+				open = toggleQuotes(next, open);
+			}
+			return record.toString();
+		}
+
+		// line number of the record last returned by next(), starting at 1
+		public long getLine() {
+			return recordLine;
+		}
+
+		// whether the record last returned by next() was given up for being too long
+		public boolean isTooLong() {
+			return tooLong;
+		}
+
+		private String readLine() throws IOException {
+			String next = readAgain.isEmpty() ? reader.readLine() : readAgain.pop();
+			if (next != null) {
+				line++;
+			}
+			return next;
+		}
+
+		// whether a quoted field is still open at the end of the line
+		private static boolean toggleQuotes(String line, boolean open) {
+			for (int i = 0; i < line.length(); i++) {
+				if (line.charAt(i) == '"') {
+					open = !open;
+				}
+			}
+			return open;
+		}
+	}
+}
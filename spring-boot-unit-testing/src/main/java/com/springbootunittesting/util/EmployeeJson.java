@@ -0,0 +1,50 @@
+package com.springbootunittesting.util;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.springbootunittesting.entity.Employee;
+
+/**
+ * Writes an employee field by field, without Jackson's bean introspection. The
+ * output matches what the default ObjectMapper writes for {@link Employee};
+ * keep the two in step when fields are added.
+ */
+public final class EmployeeJson {
+	// field names encoded once, as Jackson's bean serializer does
+	private static final SerializedString ID = new SerializedString("id");
+	private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+	private static final SerializedString LAST_NAME = new SerializedString("lastName");
+	private static final SerializedString EMAIL = new SerializedString("email");
+	private static final SerializedString VERSION = new SerializedString("version");
+
+	private EmployeeJson() {
+	}
+
+	public static void write(JsonGenerator generator, Employee employee) throws IOException {
+		generator.writeStartObject();
+		writeNumberField(generator, ID, employee.getId());
+		writeStringField(generator, FIRST_NAME, employee.getFirstName());
+		writeStringField(generator, LAST_NAME, employee.getLastName());
+		writeStringField(generator, EMAIL, employee.getEmail());
+		writeNumberField(generator, VERSION, employee.getVersion());
+		generator.writeEndObject();
+	}
+
+	private static void writeStringField(JsonGenerator generator, SerializedString name, String value)
+			throws IOException {
+		generator.writeFieldName(name);
+		generator.writeString(value);
+	}
+
+	private static void writeNumberField(JsonGenerator generator, SerializedString name, Long value)
+			throws IOException {
+		generator.writeFieldName(name);
+		if (value == null) {
+			generator.writeNull();
+		} else {
+			generator.writeNumber(value);
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package com.springbootunittesting.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The employees table exists with IDENTITY-era rows before the application
+ * starts, as it does on databases created before the sequence was introduced.
+ */
+@SpringBootTest(properties = { "spring.datasource.url=" + EmployeeIdSequenceSeederLazyTests.URL,
+		"spring.main.lazy-initialization=true" })
+@ActiveProfiles("h2")
+public class EmployeeIdSequenceSeederLazyTests {
+	static final String URL = "jdbc:h2:mem:lazy-seed;DB_CLOSE_DELAY=-1";
+
+	@BeforeAll
+	public static void createIdentityRows() throws SQLException {
+		try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+				Statement statement = connection.createStatement()) {
+			statement.execute("create table employees (id bigint generated by default as identity primary key,"
+					+ " first_name varchar(255) not null, last_name varchar(255) not null,"
+					+ " email varchar(255) not null, version bigint default 0 not null)");
+			for (int id = 1; id <= 120; id++) {
+				statement.execute("insert into employees (first_name, last_name, email) values ('First" + id
+						+ "', 'Last', 'identity" + id + "@email.com')");
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Test for seeding the id sequence with lazy initialization")
+	public void givenLazyInitialization_whenStarted_thenSequenceSeeded() throws SQLException {
+		// when - action or behavior that we are going to test
+		long next;
+		try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+				Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("select next value for employees_seq")) {
+			resultSet.next();
+			next = resultSet.getLong(1);
+		}
+
+		// then - verify the output
+		assertThat(next).isGreaterThan(120L);
+	}
+}
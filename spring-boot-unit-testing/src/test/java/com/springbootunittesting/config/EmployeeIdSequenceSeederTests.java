@@ -0,0 +1,67 @@
+package com.springbootunittesting.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.repository.EmployeeRepository;
+
+@DataJpaTest
+@Import(EmployeeIdSequenceSeeder.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeIdSequenceSeederTests {
+	@Autowired
+	private EmployeeIdSequenceSeeder sequenceSeeder;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	public void tearDown() {
+		employeeRepository.deleteAllInBatch();
+		jdbcTemplate.execute("alter sequence employees_seq restart with 1");
+	}
+
+	@Test
+	@DisplayName("Test for seeding the id sequence past rows inserted without it")
+	public void givenRowsWithIdentityIds_whenSeed_thenNewIdsFollowExistingIds() {
+		// given - precondition or setup
+		for (long id = 1; id <= 120; id++) {
+			jdbcTemplate.update("insert into employees (id, first_name, last_name, email, version) values (?, ?, ?, ?, 0)",
+					id, "First" + id, "Last" + id, "identity" + id + "@email.com");
+		}
+
+		// when - action or behavior that we are going to test
+		sequenceSeeder.seed();
+		Employee saved = employeeRepository
+				.save(Employee.builder().firstName("Scarlett").lastName("Johansson").email("scarjo@email.com").build());
+
+		// then - verify the output
+		assertThat(saved.getId()).isGreaterThan(120L);
+	}
+
+	@Test
+	@DisplayName("Test for leaving an id sequence that is already ahead alone")
+	public void givenSequenceAhead_whenSeed_thenKeepSequence() {
+		// given - precondition or setup
+		jdbcTemplate.update("insert into employees (id, first_name, last_name, email, version) values (1, ?, ?, ?, 0)",
+				"Scarlett", "Johansson", "scarjo@email.com");
+		jdbcTemplate.execute("alter sequence employees_seq restart with 1000");
+
+		// when - action or behavior that we are going to test
+		sequenceSeeder.seed();
+
+		// then - verify the output
+		assertThat(jdbcTemplate.queryForObject("select next value for employees_seq", Long.class)).isGreaterThan(1000L);
+	}
+}
@@ -0,0 +1,81 @@
+package com.springbootunittesting.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class ReadAfterWriteFilterTests {
+	private final ReadAfterWrite readAfterWrite = new ReadAfterWrite(Duration.ofMinutes(1));
+	private final ReadAfterWriteFilter filter = new ReadAfterWriteFilter(readAfterWrite);
+
+	@Test
+	@DisplayName("Test for handing the read-after-write window to a client that wrote")
+	public void givenRequestThatWrites_whenFilter_thenSetWindowCookie() throws Exception {
+		// given - precondition or setup
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+				readAfterWrite.written();
+				response.getWriter().write("{}");
+				response.flushBuffer();
+			}
+		});
+
+		// when - action or behavior that we are going to test
+		filter.doFilter(new MockHttpServletRequest("PUT", "/api/employees/1"), response, chain);
+
+		// then - verify the output
+		Cookie cookie = response.getCookie(ReadAfterWriteFilter.COOKIE);
+		assertThat(cookie).isNotNull();
+		assertThat(Long.parseLong(cookie.getValue())).isGreaterThan(System.currentTimeMillis());
+		assertThat(readAfterWrite.getPrimaryUntil()).isNull();
+	}
+
+	@Test
+	@DisplayName("Test for reading from the primary while the client's window is open")
+	public void givenWindowCookie_whenFilter_thenReadFromPrimary() throws Exception {
+		// given - precondition or setup
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+		request.setCookies(
+				new Cookie(ReadAfterWriteFilter.COOKIE, Long.toString(System.currentTimeMillis() + 30_000)));
+		AtomicBoolean fromPrimary = new AtomicBoolean();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		// when - action or behavior that we are going to test
+		filter.doFilter(request, response, (req, res) -> fromPrimary.set(readAfterWrite.readFromPrimary()));
+
+		// then - verify the output
+		assertThat(fromPrimary).isTrue();
+		assertThat(response.getCookie(ReadAfterWriteFilter.COOKIE)).isNull();
+	}
+
+	@Test
+	@DisplayName("Test for ignoring a window cookie longer than the read-after-write window")
+	public void givenCookieBeyondWindow_whenFilter_thenReadFromReplica() throws Exception {
+		// given - precondition or setup
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+		request.setCookies(new Cookie(ReadAfterWriteFilter.COOKIE, Long.toString(Long.MAX_VALUE)));
+		AtomicBoolean fromPrimary = new AtomicBoolean(true);
+
+		// when - action or behavior that we are going to test
+		filter.doFilter(request, new MockHttpServletResponse(),
+				(req, res) -> fromPrimary.set(readAfterWrite.readFromPrimary()));
+
+		// then - verify the output
+		assertThat(fromPrimary).isFalse();
+	}
+}
@@ -0,0 +1,125 @@
+package com.springbootunittesting.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Routes between separate in-memory H2 databases, each of which knows its own
+ * name, so every query shows which database answered it.
+ */
+public class ReplicaRoutingDataSourceTests {
+	private static int databases;
+
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate readTransaction;
+	private TransactionTemplate writeTransaction;
+
+	private void setup(Duration readAfterWrite, String... replicas) {
+		Map<Object, Object> targets = new LinkedHashMap<>();
+		targets.put(ReplicaRoutingDataSource.PRIMARY, database(ReplicaRoutingDataSource.PRIMARY));
+		for (String replica : replicas) {
+			targets.put(replica, database(replica));
+		}
+		ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(List.of(replicas),
+				new ReadAfterWrite(readAfterWrite));
+		routingDataSource.setTargetDataSources(targets);
+		routingDataSource.afterPropertiesSet();
+		DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		readTransaction = new TransactionTemplate(transactionManager);
+		readTransaction.setReadOnly(true);
+		writeTransaction = new TransactionTemplate(transactionManager);
+	}
+
+	private static DataSource database(String name) {
+		DataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:routing" + ++databases + "-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("create table target (name varchar(20))");
+		jdbcTemplate.update("insert into target values (?)", name);
+		return dataSource;
+	}
+
+	private String read() {
+		return readTransaction.execute(status -> jdbcTemplate.queryForObject("select name from target", String.class));
+	}
+
+	private String write() {
+		return writeTransaction
+				.execute(status -> jdbcTemplate.queryForObject("select name from target", String.class));
+	}
+
+	@Test
+	@DisplayName("Test for routing read-only transactions to replicas in turn")
+	public void givenReplicas_whenReadOnlyTransactions_thenBalanceAcrossReplicas() {
+		// given - precondition or setup
+		setup(Duration.ZERO, "replica-1", "replica-2");
+
+		// when - action or behavior that we are going to test
+		List<String> targets = List.of(read(), read(), read(), write());
+
+		// then - verify the output
+		assertThat(targets).containsExactly("replica-1", "replica-2", "replica-1", "primary");
+	}
+
+	@Test
+	@DisplayName("Test for reading from the primary right after a write")
+	public void givenRecentWrite_whenReadOnlyTransaction_thenUsePrimary() throws InterruptedException {
+		// given - precondition or setup
+		setup(Duration.ofMillis(200), "replica-1");
+		write();
+
+		// when - action or behavior that we are going to test
+		String afterWrite = read();
+		Thread.sleep(300);
+		String later = read();
+
+		// then - verify the output
+		assertThat(afterWrite).isEqualTo("primary");
+		assertThat(later).isEqualTo("replica-1");
+	}
+
+	@Test
+	@DisplayName("Test for leaving other threads on the replicas after a write")
+	public void givenWriteOnAnotherThread_whenReadOnlyTransaction_thenUseReplica() throws InterruptedException {
+		// given - precondition or setup
+		setup(Duration.ofMinutes(1), "replica-1");
+		Thread writer = new Thread(this::write);
+		writer.start();
+		writer.join();
+
+		// when - action or behavior that we are going to test
+		String target = read();
+
+		// then - verify the output
+		assertThat(target).isEqualTo("replica-1");
+	}
+
+	@Test
+	@DisplayName("Test for routing without replicas")
+	public void givenNoReplicas_whenReadOnlyTransaction_thenUsePrimary() {
+		// given - precondition or setup
+		setup(Duration.ZERO);
+
+		// when - action or behavior that we are going to test
+		String target = read();
+
+		// then - verify the output
+		assertThat(target).isEqualTo("primary");
+	}
+}
@@ -0,0 +1,66 @@
+package com.springbootunittesting.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.core.metrics.StartupStep;
+
+public class StartupTimelineReportTests {
+
+	@Test
+	@DisplayName("Test for ranking startup steps by their own time")
+	public void givenNestedSteps_whenReport_thenRankByOwnTime() {
+		// given - precondition or setup
+		List<TimelineEvent> events = List.of(event(1L, null, "outer", 70, tag("bean", "parent")),
+				event(2L, 1L, "inner", 60), event(3L, 1L, "sibling", 5));
+
+		// when - action or behavior that we are going to test
+		String report = StartupTimelineReport.report(events, 10);
+
+		// then - verify the output
+		assertThat(report.lines()).containsExactly("    60.0 ms own     60.0 ms total  inner []",
+				"     5.0 ms own     70.0 ms total  outer [bean=parent]",
+				"     5.0 ms own      5.0 ms total  sibling []");
+	}
+
+	@Test
+	@DisplayName("Test for reporting only as many steps as asked for")
+	public void givenMoreStepsThanAskedFor_whenReport_thenReportSlowestOnly() {
+		// given - precondition or setup
+		List<TimelineEvent> events = List.of(event(1L, null, "first", 10), event(2L, null, "second", 30),
+				event(3L, null, "third", 20));
+
+		// when - action or behavior that we are going to test
+		String report = StartupTimelineReport.report(events, 2);
+
+		// then - verify the output
+		assertThat(report.lines()).containsExactly("    30.0 ms own     30.0 ms total  second []",
+				"    20.0 ms own     20.0 ms total  third []");
+	}
+
+	private static TimelineEvent event(Long id, Long parentId, String name, long millis, StartupStep.Tag... tags) {
+		StartupStep step = mock(StartupStep.class);
+		given(step.getId()).willReturn(id);
+		given(step.getParentId()).willReturn(parentId);
+		given(step.getName()).willReturn(name);
+		given(step.getTags()).willReturn(() -> List.of(tags).iterator());
+		TimelineEvent event = mock(TimelineEvent.class);
+		given(event.getStartupStep()).willReturn(step);
+		given(event.getDuration()).willReturn(Duration.ofMillis(millis));
+		return event;
+	}
+
+	private static StartupStep.Tag tag(String key, String value) {
+		StartupStep.Tag tag = mock(StartupStep.Tag.class);
+		given(tag.getKey()).willReturn(key);
+		given(tag.getValue()).willReturn(value);
+		return tag;
+	}
+}
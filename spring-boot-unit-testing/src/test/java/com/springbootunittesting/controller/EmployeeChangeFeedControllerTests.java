@@ -0,0 +1,78 @@
+package com.springbootunittesting.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.springbootunittesting.dto.EmployeeChangeEvent;
+import com.springbootunittesting.dto.EmployeeChangeEvent.Type;
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.service.EmployeeChangeFeed;
+
+@WebMvcTest(EmployeeChangeFeedController.class)
+public class EmployeeChangeFeedControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private EmployeeChangeFeed changeFeed;
+
+	private Employee employee;
+
+	@BeforeEach
+	public void setup() {
+		employee = Employee.builder().id(1L).firstName("Scarlett").lastName("Johansson").email("scarjo@email.com")
+				.build();
+	}
+
+	@Test
+	@DisplayName("Test for employee change stream REST API")
+	public void givenLastEventId_whenStreamChanges_thenResumeAfterIt() throws Exception {
+		// given - precondition or setup
+		given(changeFeed.subscribe(eq(41L), any(EmployeeChangeFeed.Subscriber.class))).willAnswer(arguments -> {
+			EmployeeChangeFeed.Subscriber subscriber = arguments.getArgument(1);
+			subscriber.lagged(41, 43);
+			subscriber.send(new EmployeeChangeEvent(43, Type.UPDATED, 1L, employee));
+			subscriber.close();
+			return true;
+		});
+
+		// when - action or behavior that we are going to test
+		MvcResult result = mockMvc.perform(get("/api/employees/changes").header("Last-Event-ID", "41"))
+				.andExpect(request().asyncStarted()).andReturn();
+
+		// then - verify the output
+		String body = result.getResponse().getContentAsString();
+		assertThat(body).contains("event:lagged\ndata:{\"missedAfter\":41,\"resumeFrom\":43}");
+		assertThat(body).contains("id:43\ndata:{\"sequence\":43,\"type\":\"UPDATED\",\"employeeId\":1");
+	}
+
+	@Test
+	@DisplayName("Test for employee change stream REST API with too many subscribers")
+	public void givenNoFreeSubscription_whenStreamChanges_thenReturnServiceUnavailable() throws Exception {
+		// given - precondition or setup
+		given(changeFeed.getLastSequence()).willReturn(7L);
+		given(changeFeed.subscribe(eq(7L), any(EmployeeChangeFeed.Subscriber.class))).willReturn(false);
+
+		// when - action or behavior that we are going to test
+		mockMvc.perform(get("/api/employees/changes"))
+				// then - verify the output
+				.andExpect(status().isServiceUnavailable()).andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+	}
+}
@@ -3,17 +3,26 @@ package com.springbootunittesting.controller;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,17 +30,25 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springbootunittesting.dto.EmployeeBatchResult;
+import com.springbootunittesting.dto.EmployeeBulkRequest;
+import com.springbootunittesting.dto.EmployeeBulkResult;
+import com.springbootunittesting.dto.EmployeePage;
 import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.exception.ResourceExistsException;
 import com.springbootunittesting.exception.ResourceNotFoundException;
 import com.springbootunittesting.service.EmployeeService;
 
-@WebMvcTest
+@WebMvcTest(EmployeeController.class)
 public class EmployeeControllerTests {
 
 	@Autowired
@@ -166,4 +183,357 @@ public class EmployeeControllerTests {
 		response.andDo(print()).andExpect(status().isOk());
 	}
 
+	@Test
+	@DisplayName("Test for getEmployees page REST API")
+	public void givenCursor_whenGetEmployees_thenReturnPage() throws Exception {
+		// given - precondition or setup
+		given(employeeService.getEmployees(5L, 1)).willReturn(new EmployeePage(List.of(employee), 6L));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(get("/api/employees").param("after", "5").param("limit", "1"));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isOk()).andExpect(jsonPath("$.employees.size()", is(1)))
+				.andExpect(jsonPath("$.nextCursor", is(6)));
+	}
+
+	@Test
+	@DisplayName("Test for exportEmployees CSV REST API")
+	public void givenEmployees_whenExportEmployeesAsCsv_thenStreamCsvRows() throws Exception {
+		// given - precondition or setup
+		employee.setId(1L);
+		willAnswer((arguments) -> {
+			Consumer<Employee> consumer = arguments.getArgument(0);
+			consumer.accept(employee);
+			return null;
+		}).given(employeeService).exportEmployees(any());
+
+		// when - action or behavior that we are going to test
+		MvcResult result = mockMvc.perform(get("/api/employees/export").param("format", "csv"))
+				.andExpect(request().asyncStarted()).andReturn();
+
+		// then - verify the output
+		mockMvc.perform(asyncDispatch(result)).andDo(print()).andExpect(status().isOk())
+				.andExpect(content().string("id,firstName,lastName,email\n1,Scarlett,Johansson,scarjo@email.com\n"));
+	}
+
+	@Test
+	@DisplayName("Test for exportEmployees NDJSON REST API")
+	public void givenEmployees_whenExportEmployeesAsNdjson_thenStreamJsonLines() throws Exception {
+		// given - precondition or setup
+		willAnswer((arguments) -> {
+			Consumer<Employee> consumer = arguments.getArgument(0);
+			consumer.accept(employee);
+			consumer.accept(employee);
+			return null;
+		}).given(employeeService).exportEmployees(any());
+
+		// when - action or behavior that we are going to test
+		MvcResult result = mockMvc.perform(get("/api/employees/export")).andExpect(request().asyncStarted())
+				.andReturn();
+
+		// then - verify the output
+		String line = objectMapper.writeValueAsString(employee) + "\n";
+		mockMvc.perform(asyncDispatch(result)).andDo(print()).andExpect(status().isOk())
+				.andExpect(content().string(line + line));
+	}
+
+	@Test
+	@DisplayName("Test for createEmployees batch REST API")
+	public void givenEmployees_whenCreateEmployees_thenReturnAcceptedAndRejected() throws Exception {
+		// given - precondition or setup
+		Employee employee1 = Employee.builder().firstName("Robert").lastName("Downey Jr").email("tonystark@email.com")
+				.build();
+		given(employeeService.saveEmployees(List.of(employee, employee1)))
+				.willReturn(new EmployeeBatchResult(List.of(employee1), List.of(employee)));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(post("/api/employees/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(List.of(employee, employee1))));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isOk()).andExpect(jsonPath("$.accepted.size()", is(1)))
+				.andExpect(jsonPath("$.rejected[0].email", is(employee.getEmail())));
+	}
+
+	@Test
+	@DisplayName("Test for searchEmployees REST API")
+	public void givenQuery_whenSearchEmployees_thenReturnMatchingEmployees() throws Exception {
+		// given - precondition or setup
+		given(employeeService.searchEmployees("scar", 10)).willReturn(List.of(employee));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(get("/api/employees/search").param("q", "scar"));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isOk()).andExpect(jsonPath("$.size()", is(1)))
+				.andExpect(jsonPath("$[0].email", is(employee.getEmail())));
+	}
+
+	@Test
+	@DisplayName("Test for updateEmailDomain REST API")
+	public void givenIdsAndDomain_whenUpdateEmailDomain_thenReturnAffectedRows() throws Exception {
+		// given - precondition or setup
+		given(employeeService.updateEmailDomain(List.of(1L, 2L), "studio.com"))
+				.willReturn(new EmployeeBulkResult(2, 2));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(put("/api/employees/batch/email-domain")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new EmployeeBulkRequest(List.of(1L, 2L), "studio.com"))));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isOk()).andExpect(jsonPath("$.affected", is(2)));
+	}
+
+	@Test
+	@DisplayName("Test for updateEmailDomain REST API with an invalid domain")
+	public void givenInvalidDomain_whenUpdateEmailDomain_thenReturnBadRequest() throws Exception {
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(put("/api/employees/batch/email-domain")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new EmployeeBulkRequest(List.of(1L), "a@studio.com"))));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@DisplayName("Test for deleteEmployees REST API")
+	public void givenIds_whenDeleteEmployees_thenReturnAffectedRows() throws Exception {
+		// given - precondition or setup
+		given(employeeService.deleteEmployees(List.of(1L, 2L, 3L))).willReturn(new EmployeeBulkResult(3, 2));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(post("/api/employees/batch/delete")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new EmployeeBulkRequest(List.of(1L, 2L, 3L), null))));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isOk()).andExpect(jsonPath("$.requested", is(3)))
+				.andExpect(jsonPath("$.affected", is(2)));
+	}
+
+	@Test
+	@DisplayName("Test for getEmployee Rest API ETag")
+	public void givenEmployeeId_whenGetEmployee_thenReturnETag() throws Exception {
+		// given - precondition or setup
+		long id = 1L;
+		employee.setVersion(3L);
+		given(employeeService.getEmployee(id)).willReturn(Optional.of(employee));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(get("/api/employees/{id}", id));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isOk()).andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+				.andExpect(jsonPath("$.version", is(3)));
+	}
+
+	@Test
+	@DisplayName("Test for getEmployee Rest API with a matching If-None-Match")
+	public void givenCurrentETag_whenGetEmployee_thenReturnNotModified() throws Exception {
+		// given - precondition or setup
+		long id = 1L;
+		employee.setVersion(3L);
+		given(employeeService.getEmployee(id)).willReturn(Optional.of(employee));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc
+				.perform(get("/api/employees/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isNotModified()).andExpect(content().string(""));
+	}
+
+	@Test
+	@DisplayName("Test for patchEmployee Rest API")
+	public void givenChangedFields_whenPatchEmployee_thenReturnPatchedEmployee() throws Exception {
+		// given - precondition or setup
+		Long id = 1L;
+		Employee changes = Employee.builder().email("scarlett@email.com").version(3L).build();
+		Employee patched = Employee.builder().id(id).firstName("Scarlett").lastName("Johansson")
+				.email("scarlett@email.com").version(4L).build();
+		given(employeeService.patchEmployee(id, changes)).willReturn(patched);
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(patch("/api/employees/{id}", id)
+				.contentType(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_MATCH, "\"3\"")
+				.content("{\"email\":\"scarlett@email.com\"}"));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isOk()).andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+				.andExpect(jsonPath("$.email", is("scarlett@email.com")));
+	}
+
+	@Test
+	@DisplayName("Test for updateEmployee Rest API with a stale If-Match")
+	public void givenStaleIfMatch_whenUpdateEmployee_thenReturnPreconditionFailed() throws Exception {
+		// given - precondition or setup
+		Long id = 1L;
+		given(employeeService.updateEmployee(any(Long.class), any(Employee.class)))
+				.willThrow(new ObjectOptimisticLockingFailureException(Employee.class, id));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(put("/api/employees/{id}", id)
+				.contentType(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_MATCH, "\"2\"")
+				.content(objectMapper.writeValueAsString(employee)));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isPreconditionFailed());
+	}
+
+	@Test
+	@DisplayName("Test for updateEmployee Rest API with a concurrent change")
+	public void givenConcurrentChange_whenUpdateEmployee_thenReturnConflict() throws Exception {
+		// given - precondition or setup
+		Long id = 1L;
+		given(employeeService.updateEmployee(any(Long.class), any(Employee.class)))
+				.willThrow(new ObjectOptimisticLockingFailureException(Employee.class, id));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(put("/api/employees/{id}", id)
+				.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(employee)));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isConflict());
+	}
+
+	@Test
+	@DisplayName("Test for deleteEmployee Rest API with If-Match")
+	public void givenIfMatch_whenDeleteEmployee_thenDeleteThatVersion() throws Exception {
+		// given - precondition or setup
+		Long id = 1L;
+		willDoNothing().given(employeeService).deleteEmployee(id, 5L);
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc
+				.perform(delete("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, "W/\"5\""));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isOk());
+		verify(employeeService).deleteEmployee(id, 5L);
+	}
+
+	@Test
+	@DisplayName("Test for deleteEmployee Rest API with If-Match listing the current version")
+	public void givenIfMatchListWithCurrentVersion_whenDeleteEmployee_thenDeleteThatVersion() throws Exception {
+		// given - precondition or setup
+		Long id = 1L;
+		given(employeeService.getEmployee(id)).willReturn(Optional.of(Employee.builder().id(id).firstName("Scarlett")
+				.lastName("Johansson").email("scarjo@email.com").version(4L).build()));
+		willDoNothing().given(employeeService).deleteEmployee(id, 4L);
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc
+				.perform(delete("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, "\"3\", W/\"4\""));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isOk());
+		verify(employeeService).deleteEmployee(id, 4L);
+	}
+
+	@Test
+	@DisplayName("Test for deleteEmployee Rest API with If-Match listing only older versions")
+	public void givenIfMatchListWithoutCurrentVersion_whenDeleteEmployee_thenReturnPreconditionFailed()
+			throws Exception {
+		// given - precondition or setup
+		Long id = 1L;
+		given(employeeService.getEmployee(id)).willReturn(Optional.of(Employee.builder().id(id).firstName("Scarlett")
+				.lastName("Johansson").email("scarjo@email.com").version(4L).build()));
+		willThrow(new ObjectOptimisticLockingFailureException(Employee.class, id)).given(employeeService)
+				.deleteEmployee(id, -1L);
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc
+				.perform(delete("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, "\"2\", \"3\""));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isPreconditionFailed());
+		verify(employeeService).deleteEmployee(id, -1L);
+	}
+
+	@Test
+	@DisplayName("Test for create employee REST API with a duplicate email")
+	public void givenExistingEmail_whenCreateEmployee_thenReturnConflictProblem() throws Exception {
+		// given - precondition or setup
+		given(employeeService.saveEmployee(any(Employee.class)))
+				.willThrow(new ResourceExistsException("Employee already exists with given email: scarjo@email.com"));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(employee)));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isConflict())
+				.andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+				.andExpect(jsonPath("$.status", is(409)))
+				.andExpect(jsonPath("$.detail", is("Employee already exists with given email")));
+	}
+
+	@Test
+	@DisplayName("Test for updateEmployee Rest API problem detail")
+	public void givenInvalidEmployeeId_whenUpdateEmployee_thenReturnNotFoundProblem() throws Exception {
+		// given - precondition or setup
+		given(employeeService.updateEmployee(any(Long.class), any(Employee.class)))
+				.willThrow(new ResourceNotFoundException("Employee does not exist with id: 9"));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(put("/api/employees/{id}", 9L)
+				.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(employee)));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isNotFound())
+				.andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+				.andExpect(jsonPath("$.title", is("Not Found")))
+				.andExpect(jsonPath("$.detail", is("Employee does not exist")));
+	}
+
+	@Test
+	@DisplayName("Test for get employees by ids REST API")
+	public void givenIds_whenGetEmployeesById_thenReturnEmployees() throws Exception {
+		// given - precondition or setup
+		employee.setId(1L);
+		given(employeeService.getEmployeesById(List.of(1L, 2L))).willReturn(List.of(employee));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(get("/api/employees").param("ids", "1,2"));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isOk()).andExpect(jsonPath("$.size()", is(1)))
+				.andExpect(jsonPath("$[0].id", is(1)));
+	}
+
+	@Test
+	@DisplayName("Test for get employees by ids REST API with too many ids")
+	public void givenTooManyIds_whenGetEmployeesById_thenReturnBadRequest() throws Exception {
+		// given - precondition or setup
+		given(employeeService.getEmployeesById(List.of(1L, 2L)))
+				.willThrow(new IllegalArgumentException("At most 1 ids can be requested at once"));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(get("/api/employees").param("ids", "1", "2"));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@DisplayName("Test for updateEmailDomain REST API problem detail on a duplicate email")
+	public void givenDuplicateEmail_whenUpdateEmailDomain_thenReturnConflictWithOwnDetail() throws Exception {
+		// given - precondition or setup
+		given(employeeService.updateEmailDomain(List.of(1L, 2L), "studio.com")).willThrow(
+				new ResourceExistsException("Moving employees to studio.com would duplicate an existing email"));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(put("/api/employees/batch/email-domain")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new EmployeeBulkRequest(List.of(1L, 2L), "studio.com"))));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isConflict())
+				.andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+				.andExpect(jsonPath("$.detail", is("Moving employees to studio.com would duplicate an existing email")));
+	}
+
 }
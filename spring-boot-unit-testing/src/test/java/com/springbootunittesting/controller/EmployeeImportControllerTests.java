@@ -0,0 +1,67 @@
+package com.springbootunittesting.controller;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.BufferedReader;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.springbootunittesting.dto.EmployeeImportError;
+import com.springbootunittesting.dto.EmployeeImportReport;
+import com.springbootunittesting.service.EmployeeImportService;
+
+@WebMvcTest(EmployeeImportController.class)
+public class EmployeeImportControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private EmployeeImportService importService;
+
+	@Test
+	@DisplayName("Test for import employees REST API")
+	public void givenCsv_whenImportEmployees_thenReturnReport() throws Exception {
+		// given - precondition or setup
+		given(importService.importCsv(any(BufferedReader.class))).willReturn(
+				new EmployeeImportReport(2, 1, 1, List.of(new EmployeeImportError(3, "lastName is required"))));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(post("/api/employees/import").contentType("text/csv")
+				.content("firstName,lastName,email\nScarlett,Johansson,scarjo@email.com\nMark,,hulk@email.com\n"));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isOk()).andExpect(jsonPath("$.imported", is(1)))
+				.andExpect(jsonPath("$.errors[0].line", is(3)));
+	}
+
+	@Test
+	@DisplayName("Test for import employees REST API with a bad header")
+	public void givenBadHeader_whenImportEmployees_thenReturnBadRequest() throws Exception {
+		// given - precondition or setup
+		given(importService.importCsv(any(BufferedReader.class)))
+				.willThrow(new IllegalArgumentException("CSV header must name the firstName, lastName and email columns"));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(post("/api/employees/import").contentType("text/csv")
+				.content("name\nScarlett\n"));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isBadRequest())
+				.andExpect(content().string("CSV header must name the firstName, lastName and email columns"));
+	}
+}
@@ -0,0 +1,122 @@
+package com.springbootunittesting.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.service.EmployeeJsonCache;
+
+public class EmployeeJsonHttpMessageConverterTests {
+	private static final Type EMPLOYEE_LIST = new ParameterizedTypeReference<List<Employee>>() {
+	}.getType();
+
+	private ObjectMapper objectMapper;
+	private EmployeeJsonCache jsonCache;
+	private EmployeeJsonHttpMessageConverter converter;
+	private Employee employee;
+
+	@BeforeEach
+	public void setup() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		jsonCache = new EmployeeJsonCache(objectMapper.getFactory(), 100);
+		converter = new EmployeeJsonHttpMessageConverter(objectMapper.getFactory(), jsonCache);
+		employee = Employee.builder().id(1L).firstName("Sailesh").lastName("Chakka \"Sai\"")
+				.email("saileshchakka@email.com").version(3L).build();
+	}
+
+	private String write(Object value, Type type) throws IOException {
+		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+		converter.write(value, type, MediaType.APPLICATION_JSON, outputMessage);
+		return outputMessage.getBodyAsString();
+	}
+
+	@Test
+	@DisplayName("Test for writing employees like the Jackson converter")
+	public void givenEmployees_whenWrite_thenMatchObjectMapper() throws IOException {
+		// given - precondition or setup
+		Employee unsaved = Employee.builder().firstName("Tony").lastName("Stark\n").email("tony€@email.com").build();
+		List<Employee> employees = Arrays.asList(employee, unsaved, null);
+
+		// when - action or behavior that we are going to test
+		String single = write(employee, Employee.class);
+		String list = write(employees, EMPLOYEE_LIST);
+
+		// then - verify the output
+		assertThat(single).isEqualTo(objectMapper.writeValueAsString(employee));
+		assertThat(write(unsaved, Employee.class)).isEqualTo(objectMapper.writeValueAsString(unsaved));
+		assertThat(list).isEqualTo(objectMapper.writeValueAsString(employees));
+	}
+
+	@Test
+	@DisplayName("Test for the types the converter writes")
+	public void givenTypes_whenCanWrite_thenOnlyEmployees() {
+		// given - precondition or setup
+		Type strings = new ParameterizedTypeReference<List<String>>() {
+		}.getType();
+
+		// when - action or behavior that we are going to test
+
+		// then - verify the output
+		assertThat(converter.canWrite(Employee.class, Employee.class, MediaType.APPLICATION_JSON)).isTrue();
+		assertThat(converter.canWrite(EMPLOYEE_LIST, List.class, MediaType.APPLICATION_JSON)).isTrue();
+		assertThat(converter.canWrite(strings, List.class, MediaType.APPLICATION_JSON)).isFalse();
+		assertThat(converter.canWrite(Employee.class, Employee.class, MediaType.APPLICATION_XML)).isFalse();
+		assertThat(converter.canRead(Employee.class, MediaType.APPLICATION_JSON)).isFalse();
+	}
+
+	@Test
+	@DisplayName("Test for serving cached bytes only for the cached version")
+	public void givenCachedEmployee_whenVersionChanges_thenEncodeAgain() throws IOException {
+		// given - precondition or setup
+		write(employee, Employee.class);
+		Employee updated = Employee.builder().id(1L).firstName("Sai").lastName("Chakka")
+				.email("saileshchakka@email.com").version(4L).build();
+
+		// when - action or behavior that we are going to test
+		String json = write(updated, Employee.class);
+
+		// then - verify the output
+		assertThat(json).isEqualTo(objectMapper.writeValueAsString(updated));
+		assertThat(jsonCache.getIfPresent(employee)).isNull();
+		assertThat(jsonCache.getIfPresent(updated)).isNotNull();
+	}
+
+	@Test
+	@DisplayName("Test for evicting an employee from the JSON cache")
+	public void givenCachedEmployee_whenEvict_thenNotCached() throws IOException {
+		// given - precondition or setup
+		write(employee, Employee.class);
+		assertThat(jsonCache.getIfPresent(employee)).isNotNull();
+
+		// when - action or behavior that we are going to test
+		jsonCache.evict(employee.getId());
+
+		// then - verify the output
+		assertThat(jsonCache.getIfPresent(employee)).isNull();
+	}
+
+	@Test
+	@DisplayName("Test for not caching employees written in a list")
+	public void givenList_whenWrite_thenEmployeesNotCached() throws IOException {
+		// given - precondition or setup
+
+		// when - action or behavior that we are going to test
+		write(List.of(employee), EMPLOYEE_LIST);
+
+		// then - verify the output
+		assertThat(jsonCache.getIfPresent(employee)).isNull();
+	}
+}
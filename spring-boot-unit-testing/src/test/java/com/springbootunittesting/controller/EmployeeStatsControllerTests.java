@@ -0,0 +1,61 @@
+package com.springbootunittesting.controller;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.springbootunittesting.dto.EmployeeStats;
+import com.springbootunittesting.service.EmployeeStatsCounter;
+
+@WebMvcTest(EmployeeStatsController.class)
+public class EmployeeStatsControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private EmployeeStatsCounter statsCounter;
+
+	@Test
+	@DisplayName("Test for employee stats REST API")
+	public void givenStats_whenGetStats_thenReturnCounts() throws Exception {
+		// given - precondition or setup
+		given(statsCounter.getStats()).willReturn(new EmployeeStats(3, Map.of("email.com", 3L), Instant.now()));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(get("/api/employees/stats"));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isOk()).andExpect(jsonPath("$.total", is(3)))
+				.andExpect(jsonPath("$.domains['email.com']", is(3)));
+	}
+
+	@Test
+	@DisplayName("Test for employee stats REST API for one domain")
+	public void givenDomain_whenGetStats_thenReturnThatDomain() throws Exception {
+		// given - precondition or setup
+		given(statsCounter.getStats("email.com"))
+				.willReturn(new EmployeeStats(5, Map.of("email.com", 3L), Instant.now()));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(get("/api/employees/stats").param("domain", "email.com"));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isOk()).andExpect(jsonPath("$.total", is(5)))
+				.andExpect(jsonPath("$.domains.size()", is(1)));
+	}
+}
@@ -0,0 +1,114 @@
+package com.springbootunittesting.controller;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springbootunittesting.dto.EmployeeWriteStatus;
+import com.springbootunittesting.dto.EmployeeWriteStatus.State;
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.exception.WriteQueueFullException;
+import com.springbootunittesting.service.EmployeeService;
+import com.springbootunittesting.service.EmployeeWriteBehindQueue;
+
+/**
+ * EmployeeController with write-behind mode enabled, which is only the case
+ * when an EmployeeWriteBehindQueue bean exists.
+ */
+@WebMvcTest(EmployeeController.class)
+public class EmployeeWriteBehindControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private EmployeeService employeeService;
+
+	@MockBean
+	private EmployeeWriteBehindQueue writeBehindQueue;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private Employee employee;
+
+	@BeforeEach
+	public void setup() {
+		employee = Employee.builder().firstName("Scarlett").lastName("Johansson").email("scarjo@email.com").build();
+	}
+
+	@Test
+	@DisplayName("Test for write-behind create employee REST API")
+	public void givenEmployee_whenCreateEmployee_thenReturnAccepted() throws Exception {
+		// given - precondition or setup
+		given(writeBehindQueue.submit(any(Employee.class)))
+				.willReturn(new EmployeeWriteStatus("abc", State.PENDING, null, null));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(employee)));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isAccepted())
+				.andExpect(header().string(HttpHeaders.LOCATION, "/api/employees/writes/abc"))
+				.andExpect(jsonPath("$.state", is("PENDING")));
+	}
+
+	@Test
+	@DisplayName("Test for write-behind create employee REST API with a full queue")
+	public void givenFullQueue_whenCreateEmployee_thenReturnTooManyRequests() throws Exception {
+		// given - precondition or setup
+		given(writeBehindQueue.submit(any(Employee.class)))
+				.willThrow(new WriteQueueFullException("Employee write queue is full, retry later"));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(employee)));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isTooManyRequests())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+	}
+
+	@Test
+	@DisplayName("Test for write status REST API")
+	public void givenTrackingId_whenGetWriteStatus_thenReturnOutcome() throws Exception {
+		// given - precondition or setup
+		given(writeBehindQueue.getStatus("abc")).willReturn(new EmployeeWriteStatus("abc", State.CREATED, 5L, null));
+
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(get("/api/employees/writes/{trackingId}", "abc"));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isOk()).andExpect(jsonPath("$.state", is("CREATED")))
+				.andExpect(jsonPath("$.employeeId", is(5)));
+	}
+
+	@Test
+	@DisplayName("Test for write status REST API negative case")
+	public void givenUnknownTrackingId_whenGetWriteStatus_thenReturnNotFound() throws Exception {
+		// when - action or behavior that we are going to test
+		ResultActions response = mockMvc.perform(get("/api/employees/writes/{trackingId}", "unknown"));
+
+		// then - verify the output
+		response.andDo(print()).andExpect(status().isNotFound());
+	}
+}
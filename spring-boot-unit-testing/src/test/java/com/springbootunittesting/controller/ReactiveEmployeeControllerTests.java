@@ -0,0 +1,168 @@
+package com.springbootunittesting.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.reactive.server.WebTestClient.ResponseSpec;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.exception.ResourceNotFoundException;
+import com.springbootunittesting.service.ReactiveEmployeeService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@WebFluxTest(ReactiveEmployeeController.class)
+public class ReactiveEmployeeControllerTests {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@MockBean
+	private ReactiveEmployeeService employeeService;
+
+	private Employee employee;
+
+	@BeforeEach
+	public void setup() {
+		employee = Employee.builder().firstName("Scarlett").lastName("Johansson").email("scarjo@email.com").build();
+	}
+
+	@Test
+	@DisplayName("Test for reactive create employee REST API")
+	public void givenEmployee_whenCreateEmployee_thenReturnCreatedEmployee() {
+		// given - precondition or setup
+		given(employeeService.saveEmployee(any(Employee.class))).willAnswer((arguments) -> {
+			return Mono.just(arguments.getArgument(0));
+		});
+
+		// when - action or behavior that we are going to test
+		ResponseSpec response = webTestClient.post().uri("/api/employees").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(employee).exchange();
+
+		// then - verify the output
+		response.expectStatus().isCreated().expectBody().jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+				.jsonPath("$.lastName").isEqualTo(employee.getLastName()).jsonPath("$.email")
+				.isEqualTo(employee.getEmail());
+	}
+
+	@Test
+	@DisplayName("Test for reactive getAllEmployees REST API")
+	public void givenEmployees_whenGetAllEmployees_thenReturnAllEmployees() {
+		// given - precondition or setup
+		Employee employee1 = Employee.builder().firstName("Robert").lastName("Downey Jr").email("tonystark@email.com")
+				.build();
+		given(employeeService.getAllEmployees()).willReturn(Flux.just(employee, employee1));
+
+		// when - action or behavior that we are going to test
+		ResponseSpec response = webTestClient.get().uri("/api/employees").exchange();
+
+		// then - verify the output
+		response.expectStatus().isOk().expectBodyList(Employee.class).hasSize(2);
+	}
+
+	@Test
+	@DisplayName("Test for reactive getAllEmployees NDJSON REST API")
+	public void givenEmployees_whenGetAllEmployeesAsNdjson_thenStreamEmployees() {
+		// given - precondition or setup
+		Employee employee1 = Employee.builder().firstName("Robert").lastName("Downey Jr").email("tonystark@email.com")
+				.build();
+		given(employeeService.getAllEmployees()).willReturn(Flux.just(employee, employee1));
+
+		// when - action or behavior that we are going to test
+		ResponseSpec response = webTestClient.get().uri("/api/employees").accept(MediaType.APPLICATION_NDJSON)
+				.exchange();
+
+		// then - verify the output
+		response.expectStatus().isOk().expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+				.expectBodyList(Employee.class).contains(employee, employee1);
+	}
+
+	@Test
+	@DisplayName("Test for reactive getEmployee Rest API")
+	public void givenEmploeeId_whenGetEmployee_thenReturnEmployee() {
+		// given - precondition or setup
+		long id = 1L;
+		given(employeeService.getEmployee(id)).willReturn(Mono.just(employee));
+
+		// when - action or behavior that we are going to test
+		ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", id).exchange();
+
+		// then - verify the output
+		response.expectStatus().isOk().expectBody().jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+				.jsonPath("$.email").isEqualTo(employee.getEmail());
+	}
+
+	@Test
+	@DisplayName("Test for reactive getEmployee Rest API negative case")
+	public void givenInvalidEmployeeId_whenGetEmployee_thenReturnNotFound() {
+		// given - precondition or setup
+		long id = 3L;
+		given(employeeService.getEmployee(id)).willReturn(Mono.empty());
+
+		// when - action or behavior that we are going to test
+		ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", id).exchange();
+
+		// then - verify the output
+		response.expectStatus().isNotFound();
+	}
+
+	@Test
+	@DisplayName("Test for reactive updateEmployee Rest API")
+	public void givenEmployeeId_whenUpdateEmployee_thenReturnUpdatedEmployee() {
+		// given - precondition or setup
+		Employee employee1 = Employee.builder().firstName("Robert").lastName("Downey Jr").email("tonystark@email.com")
+				.build();
+		Long id = 1L;
+		given(employeeService.updateEmployee(id, employee1)).willReturn(Mono.just(employee1));
+
+		// when - action or behavior that we are going to test
+		ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", id)
+				.contentType(MediaType.APPLICATION_JSON).bodyValue(employee1).exchange();
+
+		// then - verify the output
+		response.expectStatus().isOk().expectBody().jsonPath("$.firstName").isEqualTo(employee1.getFirstName())
+				.jsonPath("$.email").isEqualTo(employee1.getEmail());
+	}
+
+	@Test
+	@DisplayName("Test for reactive updateEmployee Rest API negative case")
+	public void givenInvalidEmployeeId_whenUpdateEmployee_thenReturnNotFound() {
+		// given - precondition or setup
+		Employee employee1 = Employee.builder().firstName("Robert").lastName("Downey Jr").email("tonystark@email.com")
+				.build();
+		Long id = 1L;
+		given(employeeService.updateEmployee(id, employee1))
+				.willReturn(Mono.error(new ResourceNotFoundException("Employee does not exist with id: " + id)));
+
+		// when - action or behavior that we are going to test
+		ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", id)
+				.contentType(MediaType.APPLICATION_JSON).bodyValue(employee1).exchange();
+
+		// then - verify the output
+		response.expectStatus().isNotFound();
+	}
+
+	@Test
+	@DisplayName("Test for reactive deleteEmployee Rest API")
+	public void givenEmployeeId_whenDeleteEmployee_thenReturnSuccessMessage() {
+		// given - precondition or setup
+		Long id = 1L;
+		given(employeeService.deleteEmployee(id)).willReturn(Mono.empty());
+
+		// when - action or behavior that we are going to test
+		ResponseSpec response = webTestClient.delete().uri("/api/employees/{id}", id).exchange();
+
+		// then - verify the output
+		response.expectStatus().isOk().expectBody(String.class)
+				.isEqualTo("Employee with id " + id + " deleted successfully");
+	}
+}
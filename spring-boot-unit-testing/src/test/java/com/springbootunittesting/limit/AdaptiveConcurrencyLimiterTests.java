@@ -0,0 +1,91 @@
+package com.springbootunittesting.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConcurrencyLimiterTests {
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+	// keeps the limiter full and completes requests with the given latency
+	private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttNanos, int samples) {
+		for (int i = 0; i < samples; i++) {
+			while (limiter.tryAcquire()) {
+			}
+			limiter.release(rttNanos);
+		}
+	}
+
+	@Test
+	@DisplayName("Test for rejecting requests over the limit")
+	public void givenFullLimiter_whenTryAcquire_thenReject() {
+		// given - precondition or setup
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.2, 1.5);
+		limiter.tryAcquire();
+		limiter.tryAcquire();
+
+		// when - action or behavior that we are going to test
+		boolean admitted = limiter.tryAcquire();
+
+		// then - verify the output
+		assertThat(admitted).isFalse();
+		assertThat(limiter.getInFlight()).isEqualTo(2);
+		assertThat(limiter.getRejected()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Test for growing the limit while latency holds steady")
+	public void givenSteadyLatency_whenSaturated_thenLimitGrowsToMaximum() {
+		// given - precondition or setup
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 0.2, 1.5);
+
+		// when - action or behavior that we are going to test
+		saturate(limiter, FAST, 500);
+
+		// then - verify the output
+		assertThat(limiter.getLimit()).isEqualTo(100);
+	}
+
+	@Test
+	@DisplayName("Test for shrinking the limit when latency rises")
+	public void givenRisingLatency_whenSaturated_thenLimitShrinks() {
+		// given - precondition or setup
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 0.2, 1.5);
+		saturate(limiter, FAST, 500);
+
+		// when - action or behavior that we are going to test
+		saturate(limiter, SLOW, 20);
+
+		// then - verify the output
+		assertThat(limiter.getLimit()).isLessThan(50);
+	}
+
+	@Test
+	@DisplayName("Test for keeping the limit while it is mostly unused")
+	public void givenFewRequests_whenRelease_thenLimitUnchanged() {
+		// given - precondition or setup
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 0.2, 1.5);
+
+		// when - action or behavior that we are going to test
+		for (int i = 0; i < 500; i++) {
+			limiter.tryAcquire();
+			limiter.release(FAST);
+		}
+
+		// then - verify the output
+		assertThat(limiter.getLimit()).isEqualTo(10);
+		assertThat(limiter.getInFlight()).isZero();
+	}
+
+	@Test
+	@DisplayName("Test for rejecting a minimum limit above the maximum")
+	public void givenMinimumAboveMaximum_whenCreate_thenThrowsException() {
+		// when - action or behavior that we are going to test
+		assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(10, 20, 10, 0.2, 1.5));
+	}
+}
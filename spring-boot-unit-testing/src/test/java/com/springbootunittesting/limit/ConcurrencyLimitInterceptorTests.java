@@ -0,0 +1,77 @@
+package com.springbootunittesting.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class ConcurrencyLimitInterceptorTests {
+	private AdaptiveConcurrencyLimiter readLimiter;
+	private AdaptiveConcurrencyLimiter writeLimiter;
+	private ConcurrencyLimitInterceptor interceptor;
+
+	@BeforeEach
+	public void setup() {
+		readLimiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 0.2, 1.5);
+		writeLimiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 0.2, 1.5);
+		interceptor = new ConcurrencyLimitInterceptor(readLimiter, writeLimiter, 2);
+	}
+
+	@Test
+	@DisplayName("Test for rejecting a request over the limit with 503")
+	public void givenFullReadBudget_whenPreHandle_thenServiceUnavailable() throws Exception {
+		// given - precondition or setup
+		interceptor.preHandle(new MockHttpServletRequest("GET", "/api/employees/1"), new MockHttpServletResponse(),
+				null);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		// when - action or behavior that we are going to test
+		boolean admitted = interceptor.preHandle(new MockHttpServletRequest("GET", "/api/employees/2"), response,
+				null);
+
+		// then - verify the output
+		assertThat(admitted).isFalse();
+		assertThat(response.getStatus()).isEqualTo(503);
+		assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+		assertThat(response.getContentAsString()).contains("\"status\":503");
+	}
+
+	@Test
+	@DisplayName("Test for keeping separate budgets for reads and writes")
+	public void givenFullReadBudget_whenPreHandleWrite_thenAdmitted() throws Exception {
+		// given - precondition or setup
+		interceptor.preHandle(new MockHttpServletRequest("GET", "/api/employees/1"), new MockHttpServletResponse(),
+				null);
+
+		// when - action or behavior that we are going to test
+		boolean admitted = interceptor.preHandle(new MockHttpServletRequest("PUT", "/api/employees/1"),
+				new MockHttpServletResponse(), null);
+
+		// then - verify the output
+		assertThat(admitted).isTrue();
+		assertThat(readLimiter.getInFlight()).isEqualTo(1);
+		assertThat(writeLimiter.getInFlight()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Test for releasing the slot when the request completes")
+	public void givenAdmittedRequest_whenAfterCompletion_thenSlotReleased() throws Exception {
+		// given - precondition or setup
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		interceptor.preHandle(request, response, null);
+
+		// when - action or behavior that we are going to test
+		interceptor.afterCompletion(request, response, null, null);
+		interceptor.afterCompletion(request, response, null, null);
+
+		// then - verify the output
+		assertThat(readLimiter.getInFlight()).isZero();
+		assertThat(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/employees/2"),
+				new MockHttpServletResponse(), null)).isTrue();
+	}
+}
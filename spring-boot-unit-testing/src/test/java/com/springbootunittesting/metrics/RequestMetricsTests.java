@@ -0,0 +1,88 @@
+package com.springbootunittesting.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.springbootunittesting.entity.Employee;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class RequestMetricsTests {
+	@Mock
+	private ProceedingJoinPoint joinPoint;
+	@Mock
+	private Signature signature;
+	private SimpleMeterRegistry meterRegistry;
+	private RepositoryMetricsAspect aspect;
+	private RequestMetricsInterceptor interceptor;
+
+	@BeforeEach
+	public void setup() {
+		meterRegistry = new SimpleMeterRegistry();
+		aspect = new RepositoryMetricsAspect(meterRegistry);
+		interceptor = new RequestMetricsInterceptor(meterRegistry);
+		given(joinPoint.getSignature()).willReturn(signature);
+	}
+
+	@Test
+	@DisplayName("Test for rows and hydrated entities recorded per request")
+	public void givenRepositoryCalls_whenRequestCompletes_thenRecordRowsAndHydratedEntities() throws Throwable {
+		// given - precondition or setup
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/employees");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		given(signature.getName()).willReturn("findAll", "findById");
+		given(joinPoint.proceed()).willReturn(List.of(new Employee(), new Employee()), Optional.of(new Employee()));
+
+		// when - action or behavior that we are going to test
+		interceptor.preHandle(request, response, null);
+		aspect.recordRows(joinPoint);
+		aspect.recordRows(joinPoint);
+		RequestMetrics.entityHydrated();
+		RequestMetrics.entityHydrated();
+		RequestMetrics.entityHydrated();
+		interceptor.afterCompletion(request, response, null, null);
+
+		// then - verify the output
+		assertThat(meterRegistry.get("employee.repository.rows").tag("method", "findAll").summary().totalAmount())
+				.isEqualTo(2);
+		assertThat(meterRegistry.get("employee.request.rows").tag("uri", "/api/employees").summary().totalAmount())
+				.isEqualTo(3);
+		assertThat(meterRegistry.get("employee.request.entities.hydrated").summary().totalAmount()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("Test for rows of a repository stream recorded on close")
+	public void givenRepositoryStream_whenClosed_thenRecordStreamedRows() throws Throwable {
+		// given - precondition or setup
+		given(signature.getName()).willReturn("streamAll");
+		given(joinPoint.proceed()).willReturn(Stream.of(new Employee(), new Employee(), new Employee()));
+
+		// when - action or behavior that we are going to test
+		try (Stream<?> stream = (Stream<?>) aspect.recordRows(joinPoint)) {
+			stream.forEach(row -> {
+			});
+		}
+
+		// then - verify the output
+		assertThat(meterRegistry.get("employee.repository.rows").tag("method", "streamAll").summary().totalAmount())
+				.isEqualTo(3);
+	}
+}
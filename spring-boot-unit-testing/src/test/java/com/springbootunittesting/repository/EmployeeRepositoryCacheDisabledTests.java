@@ -0,0 +1,73 @@
+package com.springbootunittesting.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.springbootunittesting.config.HibernateCacheConfig;
+import com.springbootunittesting.entity.Employee;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * The reactive profile's setting: writes that bypass Hibernate must never be
+ * hidden by cached rows, so no region may exist at all.
+ */
+@DataJpaTest(properties = { "employee.l2-cache.enabled=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true" })
+@Import(HibernateCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeRepositoryCacheDisabledTests {
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@AfterEach
+	public void tearDown() {
+		employeeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("Test for turning the second-level and query caches off")
+	public void givenCacheDisabled_whenStarted_thenNoCacheRegions() {
+		// when - action or behavior that we are going to test
+		SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+		// then - verify the output
+		assertThat(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()).isFalse();
+		assertThat(sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled()).isFalse();
+		assertThat(sessionFactory.getCache().getRegion(Employee.CACHE_REGION)).isNull();
+	}
+
+	@Test
+	@DisplayName("Test for find employee by id going to the database every time")
+	public void givenCacheDisabled_whenFindByIdTwice_thenQueryTwice() {
+		// given - precondition or setup
+		Employee employee = employeeRepository.save(
+				Employee.builder().firstName("Scarlett").lastName("Johansson").email("scarjo@email.com").build());
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		// when - action or behavior that we are going to test
+		employeeRepository.findById(employee.getId());
+		Optional<Employee> found = employeeRepository.findById(employee.getId());
+
+		// then - verify the output
+		assertThat(found).isPresent();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics.getSecondLevelCacheHitCount()).isZero();
+	}
+}
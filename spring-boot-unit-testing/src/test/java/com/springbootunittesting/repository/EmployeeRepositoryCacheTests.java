@@ -0,0 +1,136 @@
+package com.springbootunittesting.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.springbootunittesting.config.HibernateCacheConfig;
+import com.springbootunittesting.entity.Employee;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs every repository call in its own transaction, as the service does, so
+ * reads go past the persistence context to the second-level and query caches.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(HibernateCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeRepositoryCacheTests {
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	private Statistics statistics;
+	private Employee employee;
+
+	@BeforeEach
+	public void setup() {
+		employee = employeeRepository.save(
+				Employee.builder().firstName("Scarlett").lastName("Johansson").email("scarjo@email.com").build());
+		entityManagerFactory.getCache().evictAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		employeeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("Test for find employee by id from the second-level cache")
+	public void givenCachedEmployee_whenFindByIdTwice_thenQueryOnce() {
+		// when - action or behavior that we are going to test
+		employeeRepository.findById(employee.getId());
+		Optional<Employee> cachedEmployee = employeeRepository.findById(employee.getId());
+
+		// then - verify the output
+		assertThat(cachedEmployee).map(Employee::getEmail).contains("scarjo@email.com");
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Test for find employee by email from the query cache")
+	public void givenCachedQuery_whenFindByEmailTwice_thenQueryOnce() {
+		// when - action or behavior that we are going to test
+		employeeRepository.findByEmail(employee.getEmail());
+		Optional<Employee> cachedEmployee = employeeRepository.findByEmail(employee.getEmail());
+
+		// then - verify the output
+		assertThat(cachedEmployee).map(Employee::getId).contains(employee.getId());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Test for find employee by first name and email from the query cache")
+	public void givenCachedQuery_whenFindEmployeeByFirstNameAndEmailTwice_thenQueryOnce() {
+		// when - action or behavior that we are going to test
+		employeeRepository.findEmployeeByFirstNameAndEmail("Scarlett", "scarjo@email.com");
+		Employee cachedEmployee = employeeRepository.findEmployeeByFirstNameAndEmail("Scarlett", "scarjo@email.com");
+
+		// then - verify the output
+		assertThat(cachedEmployee.getId()).isEqualTo(employee.getId());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Test for cache invalidation on update")
+	public void givenCachedQuery_whenSaveEmployee_thenReadUpdatedEmployee() {
+		// given - precondition or setup
+		employeeRepository.findByEmail(employee.getEmail());
+		employee = employeeRepository.findById(employee.getId()).get();
+		employee.setLastName("Romanoff");
+
+		// when - action or behavior that we are going to test
+		employeeRepository.save(employee);
+		Optional<Employee> updatedEmployee = employeeRepository.findByEmail(employee.getEmail());
+
+		// then - verify the output
+		assertThat(updatedEmployee).map(Employee::getLastName).contains("Romanoff");
+		assertThat(statistics.getQueryCacheHitCount()).isZero();
+	}
+
+	@Test
+	@DisplayName("Test for cache invalidation on bulk update and delete")
+	public void givenCachedEmployee_whenBulkUpdateAndDelete_thenReadCurrentRows() {
+		// given - precondition or setup
+		employeeRepository.findById(employee.getId());
+		employeeRepository.findByEmail("scarjo@studio.com");
+
+		// when - action or behavior that we are going to test
+		// bulk statements need a transaction, which the service normally provides
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.executeWithoutResult(
+				status -> employeeRepository.updateEmailDomain(List.of(employee.getId()), "studio.com"));
+		Optional<Employee> movedEmployee = employeeRepository.findByEmail("scarjo@studio.com");
+		Optional<Employee> updatedEmployee = employeeRepository.findById(employee.getId());
+		transaction.executeWithoutResult(status -> employeeRepository.deleteByIds(List.of(employee.getId())));
+
+		// then - verify the output
+		assertThat(movedEmployee).map(Employee::getId).contains(employee.getId());
+		assertThat(updatedEmployee).map(Employee::getEmail).contains("scarjo@studio.com");
+		assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+		assertThat(employeeRepository.findByEmail("scarjo@studio.com")).isEmpty();
+	}
+}
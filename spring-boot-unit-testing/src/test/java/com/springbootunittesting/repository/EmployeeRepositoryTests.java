@@ -4,19 +4,27 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
+import com.springbootunittesting.dto.EmployeeDomainCount;
+import com.springbootunittesting.dto.EmployeeVersion;
 import com.springbootunittesting.entity.Employee;
 
 @DataJpaTest
 public class EmployeeRepositoryTests {
 	@Autowired
 	private EmployeeRepository employeeRepository;
+	@Autowired
+	private TestEntityManager entityManager;
 
 	private Employee employee;
 
@@ -127,20 +135,23 @@ public class EmployeeRepositoryTests {
 
 	@Test
 	@DisplayName("Test for get employee by firstName and lastName operation")
-	public void givenEmployeeFirstAndLastName_whenFindByFirstAndLastName_thenReturnEmployee() {
+	public void givenEmployeeFirstAndLastName_whenFindByFirstAndLastName_thenReturnEmployees() {
 		// given - precondition or setup
 //		Employee employee = Employee.builder().firstName("Scarlett").lastName("Johansson").email("scarjo@email.com")
 //				.build();
 		employeeRepository.save(employee);
+		employeeRepository.save(
+				Employee.builder().firstName("Scarlett").lastName("Johansson").email("scarlett@email.com").build());
 		String firstName = "Scarlett";
 		String lastName = "Johansson";
 		// when - action or behavior that we are going to test
-		Employee returnedEmployee = employeeRepository.findEmployee(firstName, lastName);
+		List<Employee> returnedEmployees = employeeRepository.findEmployee(firstName, lastName);
 
 		// then - verify the output
-		assertThat(returnedEmployee).isNotNull();
-		assertThat(returnedEmployee.getFirstName()).isEqualTo(firstName);
-		assertThat(returnedEmployee.getLastName()).isEqualTo(lastName);
+		assertThat(returnedEmployees).hasSize(2);
+		assertThat(returnedEmployees).allMatch(
+				returnedEmployee -> returnedEmployee.getFirstName().equals(firstName)
+						&& returnedEmployee.getLastName().equals(lastName));
 	}
 
 	@Test
@@ -160,4 +171,212 @@ public class EmployeeRepositoryTests {
 		assertThat(returnedEmployee.getFirstName()).isEqualTo(firstName);
 		assertThat(returnedEmployee.getEmail()).isEqualTo(email);
 	}
+
+	@Test
+	@DisplayName("Test for get employees after id operation")
+	public void givenEmployees_whenFindByIdGreaterThan_thenReturnNextPage() {
+		// given - precondition or setup
+		Employee employee2 = Employee.builder().firstName("Ana").lastName("De Armas").email("anadearmas@email.com")
+				.build();
+		Employee employee3 = Employee.builder().firstName("Robert").lastName("Downey Jr").email("tonystark@email.com")
+				.build();
+		employeeRepository.save(employee);
+		employeeRepository.save(employee2);
+		employeeRepository.save(employee3);
+
+		// when - action or behavior that we are going to test
+		List<Employee> employees = employeeRepository.findByIdGreaterThanOrderByIdAsc(employee.getId(),
+				PageRequest.of(0, 1));
+
+		// then - verify the output
+		assertThat(employees).hasSize(1);
+		assertThat(employees.get(0).getId()).isEqualTo(employee2.getId());
+	}
+
+	@Test
+	@DisplayName("Test for stream all employees operation")
+	public void givenEmployees_whenStreamAll_thenStreamInIdOrder() {
+		// given - precondition or setup
+		Employee employee2 = Employee.builder().firstName("Ana").lastName("De Armas").email("anadearmas@email.com")
+				.build();
+		employeeRepository.save(employee);
+		employeeRepository.save(employee2);
+
+		// when - action or behavior that we are going to test
+		List<Long> ids;
+		try (Stream<Employee> employees = employeeRepository.streamAll()) {
+			ids = employees.map(Employee::getId).toList();
+		}
+
+		// then - verify the output
+		assertThat(ids).containsExactly(employee.getId(), employee2.getId());
+	}
+
+	@Test
+	@DisplayName("Test for find existing emails operation")
+	public void givenEmails_whenFindExistingEmails_thenReturnOnlyStoredEmails() {
+		// given - precondition or setup
+		employeeRepository.save(employee);
+
+		// when - action or behavior that we are going to test
+		List<String> emails = employeeRepository.findExistingEmails(List.of("scarjo@email.com", "new@email.com"));
+
+		// then - verify the output
+		assertThat(emails).containsExactly("scarjo@email.com");
+	}
+
+	@Test
+	@DisplayName("Test for unique email constraint")
+	public void givenExistingEmail_whenSaveAndFlush_thenThrowDataIntegrityViolation() {
+		// given - precondition or setup
+		employeeRepository.saveAndFlush(employee);
+		Employee employee1 = Employee.builder().firstName("Scarlett").lastName("Jo").email("scarjo@email.com").build();
+
+		// when - action or behavior that we are going to test
+		org.junit.jupiter.api.Assertions.assertThrows(DataIntegrityViolationException.class,
+				() -> employeeRepository.saveAndFlush(employee1));
+	}
+
+	@Test
+	@DisplayName("Test for search employees by prefixes operation")
+	public void givenEmployees_whenSearchByPrefixes_thenReturnEmployeesMatchingEveryPrefix() {
+		// given - precondition or setup
+		employeeRepository.save(employee);
+		employeeRepository
+				.save(Employee.builder().firstName("Scar").lastName("Lion").email("scar_lion@email.com").build());
+		employeeRepository
+				.save(Employee.builder().firstName("Chris").lastName("Evans").email("cap@email.com").build());
+
+		// when - action or behavior that we are going to test
+		List<Employee> employees = employeeRepository.searchByPrefixes(List.of("scar%"), PageRequest.of(0, 10));
+
+		// then - verify the output
+		assertThat(employees).extracting(Employee::getLastName).containsExactly("Johansson", "Lion");
+		assertThat(employeeRepository.searchByPrefixes(List.of("scar\\_%"), PageRequest.of(0, 10)))
+				.extracting(Employee::getLastName).containsExactly("Lion");
+		assertThat(employeeRepository.searchByPrefixes(List.of("scar%", "joh%"), PageRequest.of(0, 10)))
+				.extracting(Employee::getLastName).containsExactly("Johansson");
+	}
+
+	@Test
+	@DisplayName("Test for list all employees projection operation")
+	public void givenEmployees_whenListAll_thenReturnUnmanagedEmployees() {
+		// given - precondition or setup
+		Employee employee2 = Employee.builder().firstName("Ana").lastName("De Armas").email("anadearmas@email.com")
+				.build();
+		employeeRepository.save(employee);
+		employeeRepository.save(employee2);
+
+		// when - action or behavior that we are going to test
+		List<Employee> employees = employeeRepository.listAll();
+
+		// then - verify the output
+		assertThat(employees).containsExactly(employee, employee2);
+		assertThat(employees).noneMatch(entityManager.getEntityManager()::contains);
+	}
+
+	@Test
+	@DisplayName("Test for bulk email domain update operation")
+	public void givenEmployeeIds_whenUpdateEmailDomain_thenUpdateOnlyThoseEmployees() {
+		// given - precondition or setup
+		Employee employee2 = Employee.builder().firstName("Ana").lastName("De Armas").email("anadearmas@email.com")
+				.build();
+		employeeRepository.save(employee);
+		employeeRepository.save(employee2);
+
+		// when - action or behavior that we are going to test
+		int affected = employeeRepository.updateEmailDomain(List.of(employee.getId(), -1L), "studio.com");
+
+		// then - verify the output
+		assertThat(affected).isEqualTo(1);
+		assertThat(employeeRepository.findById(employee.getId()).get().getEmail()).isEqualTo("scarjo@studio.com");
+		assertThat(employeeRepository.findById(employee2.getId()).get().getEmail()).isEqualTo("anadearmas@email.com");
+	}
+
+	@Test
+	@DisplayName("Test for bulk delete operation")
+	public void givenEmployeeIds_whenDeleteByIds_thenDeleteOnlyThoseEmployees() {
+		// given - precondition or setup
+		Employee employee2 = Employee.builder().firstName("Ana").lastName("De Armas").email("anadearmas@email.com")
+				.build();
+		employeeRepository.save(employee);
+		employeeRepository.save(employee2);
+
+		// when - action or behavior that we are going to test
+		int affected = employeeRepository.deleteByIds(List.of(employee.getId(), -1L));
+
+		// then - verify the output
+		assertThat(affected).isEqualTo(1);
+		assertThat(employeeRepository.findAll()).extracting(Employee::getId).containsExactly(employee2.getId());
+	}
+
+	@Test
+	@DisplayName("Test for version increment on update operation")
+	public void givenSavedEmployee_whenUpdate_thenIncrementVersion() {
+		// given - precondition or setup
+		employeeRepository.saveAndFlush(employee);
+		Long version = employee.getVersion();
+
+		// when - action or behavior that we are going to test
+		employee.setEmail("scarlett@email.com");
+		Employee updatedEmployee = employeeRepository.saveAndFlush(employee);
+
+		// then - verify the output
+		assertThat(version).isZero();
+		assertThat(updatedEmployee.getVersion()).isEqualTo(version + 1);
+	}
+
+	@Test
+	@DisplayName("Test for delete by id and version operation")
+	public void givenStaleVersion_whenDeleteByIdAndVersion_thenDeleteNothing() {
+		// given - precondition or setup
+		employeeRepository.saveAndFlush(employee);
+
+		// when - action or behavior that we are going to test
+		int stale = employeeRepository.deleteByIdAndVersion(employee.getId(), employee.getVersion() + 1);
+		int current = employeeRepository.deleteByIdAndVersion(employee.getId(), employee.getVersion());
+
+		// then - verify the output
+		assertThat(stale).isZero();
+		assertThat(current).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Test for count employees by email domain operation")
+	public void givenEmployees_whenCountByEmailDomain_thenReturnCountPerDomain() {
+		// given - precondition or setup
+		employeeRepository.save(employee);
+		employeeRepository.save(Employee.builder().firstName("Ana").lastName("De Armas").email("anadearmas@Email.com")
+				.build());
+		employeeRepository.save(Employee.builder().firstName("Tony").lastName("Stark").email("tony@stark.com").build());
+
+		// when - action or behavior that we are going to test
+		List<EmployeeDomainCount> counts = employeeRepository.countByEmailDomain();
+
+		// then - verify the output
+		assertThat(counts).containsExactlyInAnyOrder(new EmployeeDomainCount("email.com", 2L),
+				new EmployeeDomainCount("stark.com", 1L));
+	}
+
+	@Test
+	@DisplayName("Test for stream employee versions operation")
+	public void givenUpdatedEmployee_whenStreamVersions_thenStreamIdsAndVersionsInIdOrder() {
+		// given - precondition or setup
+		Employee employee2 = Employee.builder().firstName("Ana").lastName("De Armas").email("anadearmas@email.com")
+				.build();
+		employeeRepository.saveAndFlush(employee);
+		employeeRepository.saveAndFlush(employee2);
+		employee.setFirstName("Scarlett Ingrid");
+		employeeRepository.saveAndFlush(employee);
+
+		// when - action or behavior that we are going to test
+		List<EmployeeVersion> versions;
+		try (Stream<EmployeeVersion> stream = employeeRepository.streamVersions()) {
+			versions = stream.toList();
+		}
+
+		// then - verify the output
+		assertThat(versions).containsExactly(new EmployeeVersion(employee.getId(), 1L),
+				new EmployeeVersion(employee2.getId(), 0L));
+	}
 }
@@ -0,0 +1,139 @@
+package com.springbootunittesting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.springbootunittesting.dto.EmployeeChangeEvent;
+import com.springbootunittesting.dto.EmployeeChangeEvent.Type;
+import com.springbootunittesting.entity.Employee;
+
+public class EmployeeChangeFeedTests {
+	private EmployeeChangeFeed changeFeed;
+	private Employee employee;
+
+	@BeforeEach
+	public void setup() {
+		changeFeed = new EmployeeChangeFeed(3, 1, Duration.ofSeconds(5));
+		employee = Employee.builder().id(1L).firstName("Scarlett").lastName("Johansson").email("scarjo@email.com")
+				.build();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		changeFeed.close();
+	}
+
+	@Test
+	@DisplayName("Test for reading changes after a sequence")
+	public void givenChanges_whenRead_thenReturnChangesInOrder() {
+		// given - precondition or setup
+		changeFeed.created(employee);
+		changeFeed.updated(employee);
+		changeFeed.deleted(employee.getId());
+
+		// when - action or behavior that we are going to test
+		List<EmployeeChangeEvent> events = changeFeed.read(1, 10);
+
+		// then - verify the output
+		assertThat(events).extracting(EmployeeChangeEvent::getSequence).containsExactly(2L, 3L);
+		assertThat(events).extracting(EmployeeChangeEvent::getType).containsExactly(Type.UPDATED, Type.DELETED);
+		assertThat(events.get(1).getEmployee()).isNull();
+	}
+
+	@Test
+	@DisplayName("Test for reading changes that were overwritten")
+	public void givenFullRing_whenReadOldSequence_thenStartAtOldestChange() {
+		// given - precondition or setup
+		for (int i = 0; i < 5; i++) {
+			changeFeed.updated(employee);
+		}
+
+		// when - action or behavior that we are going to test
+		List<EmployeeChangeEvent> events = changeFeed.read(0, 10);
+
+		// then - verify the output
+		assertThat(events).extracting(EmployeeChangeEvent::getSequence).containsExactly(3L, 4L, 5L);
+	}
+
+	@Test
+	@DisplayName("Test for publishing changes after commit")
+	public void givenTransaction_whenPublish_thenWaitForCommit() {
+		// given - precondition or setup
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			// when - action or behavior that we are going to test
+			changeFeed.created(employee);
+
+			// then - verify the output
+			assertThat(changeFeed.getLastSequence()).isZero();
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+			assertThat(changeFeed.getLastSequence()).isEqualTo(1);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	@DisplayName("Test for delivering changes to a lagging subscriber")
+	public void givenLaggingSubscriber_whenSubscribe_thenMarkLagAndDeliverBufferedChanges() throws Exception {
+		// given - precondition or setup
+		for (int i = 0; i < 5; i++) {
+			changeFeed.updated(employee);
+		}
+		RecordingSubscriber subscriber = new RecordingSubscriber(3);
+
+		// when - action or behavior that we are going to test
+		boolean subscribed = changeFeed.subscribe(1, subscriber);
+
+		// then - verify the output
+		assertThat(subscribed).isTrue();
+		assertThat(subscriber.received.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(subscriber.events).containsExactly("lagged 1 3", "3", "4", "5");
+		assertThat(changeFeed.subscribe(5, new RecordingSubscriber(1))).isFalse();
+	}
+
+	private static class RecordingSubscriber implements EmployeeChangeFeed.Subscriber {
+		private final List<String> events = new CopyOnWriteArrayList<>();
+		private final CountDownLatch received;
+
+		RecordingSubscriber(int expected) {
+			this.received = new CountDownLatch(expected);
+		}
+
+		@Override
+		public void send(EmployeeChangeEvent event) {
+			events.add(Long.toString(event.getSequence()));
+			received.countDown();
+		}
+
+		@Override
+		public void lagged(long missedAfter, long resumeFrom) {
+			events.add("lagged " + missedAfter + " " + resumeFrom);
+		}
+
+		@Override
+		public void heartbeat() {
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return false;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
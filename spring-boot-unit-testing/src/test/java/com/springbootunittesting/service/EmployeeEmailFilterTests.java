@@ -0,0 +1,72 @@
+package com.springbootunittesting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.springbootunittesting.repository.EmployeeRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeEmailFilterTests {
+	@Mock
+	private EmployeeRepository employeeRepository;
+	private EmployeeEmailFilter emailFilter;
+
+	@BeforeEach
+	public void setup() {
+		emailFilter = new EmployeeEmailFilter(employeeRepository, 10_000, 0.01);
+	}
+
+	@Test
+	@DisplayName("Test for mightContain before the filter is loaded")
+	public void givenFilterNotLoaded_whenMightContain_thenReturnTrue() {
+		// when - action or behavior that we are going to test
+		boolean mightContain = emailFilter.mightContain("new@email.com");
+
+		// then - verify the output
+		assertThat(mightContain).isTrue();
+	}
+
+	@Test
+	@DisplayName("Test for mightContain after loading existing emails")
+	public void givenLoadedFilter_whenMightContain_thenNoFalseNegativesAndFewFalsePositives() {
+		// given - precondition or setup
+		given(employeeRepository.streamAllEmails())
+				.willReturn(IntStream.range(0, 10_000).mapToObj(i -> "employee" + i + "@email.com"));
+		emailFilter.load();
+		emailFilter.add("Scarjo@Email.com");
+
+		// when - action or behavior that we are going to test
+		long falsePositives = IntStream.range(0, 10_000).mapToObj(i -> "new" + i + "@email.com")
+				.filter(emailFilter::mightContain).count();
+
+		// then - verify the output
+		assertThat(IntStream.range(0, 10_000).mapToObj(i -> "employee" + i + "@email.com"))
+				.allMatch(emailFilter::mightContain);
+		assertThat(emailFilter.mightContain("scarjo@email.com")).isTrue();
+		assertThat(falsePositives).isLessThan(300);
+	}
+
+	@Test
+	@DisplayName("Test for mightContain on an empty table")
+	public void givenEmptyTable_whenMightContain_thenReturnFalse() {
+		// given - precondition or setup
+		given(employeeRepository.streamAllEmails()).willReturn(Stream.empty());
+		emailFilter.load();
+
+		// when - action or behavior that we are going to test
+		boolean mightContain = emailFilter.mightContain("new@email.com");
+
+		// then - verify the output
+		assertThat(mightContain).isFalse();
+	}
+}
@@ -0,0 +1,132 @@
+package com.springbootunittesting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.springbootunittesting.dto.EmployeeBatchResult;
+import com.springbootunittesting.dto.EmployeeImportError;
+import com.springbootunittesting.dto.EmployeeImportReport;
+import com.springbootunittesting.entity.Employee;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeImportServiceTests {
+	@Mock
+	private EmployeeService employeeService;
+	private EmployeeImportService importService;
+
+	@BeforeEach
+	public void setup() {
+		importService = new EmployeeImportService(employeeService, 2, 2, 10, 200, 5);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		importService.close();
+	}
+
+	@Test
+	@DisplayName("Test for importCsv method")
+	public void givenCsv_whenImportCsv_thenSaveChunksInFileOrder() throws IOException {
+		// given - precondition or setup
+		given(employeeService.saveEmployees(anyList())).willAnswer(arguments -> {
+			List<Employee> employees = arguments.getArgument(0);
+			return new EmployeeBatchResult(employees.stream().filter(e -> !e.getEmail().startsWith("dup")).toList(),
+					employees.stream().filter(e -> e.getEmail().startsWith("dup")).toList());
+		});
+		String csv = """
+				email,lastName,firstName,id
+				scarjo@email.com,Johansson,Scarlett,
+				tonystark@email.com,"Downey, Jr",Robert,7
+				dup@email.com,Evans,Chris,
+
+				hulk@email.com,,Mark,
+				"thor
+				@email.com",Hemsworth,Chris,
+				""";
+
+		// when - action or behavior that we are going to test
+		EmployeeImportReport report = importService.importCsv(new BufferedReader(new StringReader(csv)));
+
+		// then - verify the output
+		assertThat(report.getRows()).isEqualTo(5);
+		assertThat(report.getImported()).isEqualTo(3);
+		assertThat(report.getRejected()).isEqualTo(2);
+		assertThat(report.getErrors()).extracting(EmployeeImportError::getLine).containsExactlyInAnyOrder(4L, 6L);
+		verify(employeeService, times(3)).saveEmployees(anyList());
+	}
+
+	@Test
+	@DisplayName("Test for importCsv method with a failing chunk")
+	public void givenFailingChunk_whenImportCsv_thenReportRowsAndContinue() throws IOException {
+		// given - precondition or setup
+		given(employeeService.saveEmployees(anyList())).willThrow(new IllegalStateException("database down"))
+				.willAnswer(arguments -> new EmployeeBatchResult(arguments.getArgument(0), List.of()));
+		String csv = """
+				firstName,lastName,email
+				Scarlett,Johansson,scarjo@email.com
+				Robert,Downey Jr,tonystark@email.com
+				Chris,Evans,cap@email.com
+				""";
+
+		// when - action or behavior that we are going to test
+		EmployeeImportReport report = importService.importCsv(new BufferedReader(new StringReader(csv)));
+
+		// then - verify the output
+		assertThat(report.getImported()).isEqualTo(1);
+		assertThat(report.getRejected()).isEqualTo(2);
+		assertThat(report.getErrors()).extracting(EmployeeImportError::getMessage)
+				.containsOnly("Could not save row: database down");
+	}
+
+	@Test
+	@DisplayName("Test for importCsv method with a bad header")
+	public void givenMissingColumn_whenImportCsv_thenThrowsException() {
+		// given - precondition or setup
+		String csv = "firstName,email\nScarlett,scarjo@email.com\n";
+
+		// when - action or behavior that we are going to test
+		org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
+				() -> importService.importCsv(new BufferedReader(new StringReader(csv))));
+
+		// then - verify the output
+		verify(employeeService, never()).saveEmployees(anyList());
+	}
+
+	@Test
+	@DisplayName("Test for importCsv method with a quote that is never closed")
+	public void givenUnterminatedQuote_whenImportCsv_thenRejectRecordAndImportTheRest() throws IOException {
+		// given - precondition or setup
+		given(employeeService.saveEmployees(anyList()))
+				.willAnswer(arguments -> new EmployeeBatchResult(arguments.getArgument(0), List.of()));
+		StringBuilder csv = new StringBuilder("firstName,lastName,email\n\"Scarlett,Johansson,scarjo@email.com\n");
+		for (int i = 0; i < 1000; i++) {
+			csv.append("First").append(i).append(",Last,employee").append(i).append("@email.com\n");
+		}
+
+		// when - action or behavior that we are going to test
+		EmployeeImportReport report = importService.importCsv(new BufferedReader(new StringReader(csv.toString())));
+
+		// then - verify the output
+		assertThat(report.getRows()).isEqualTo(1001);
+		assertThat(report.getImported()).isEqualTo(1000);
+		assertThat(report.getRejected()).isEqualTo(1);
+		assertThat(report.getErrors()).extracting(EmployeeImportError::getLine).containsExactly(2L);
+	}
+}
@@ -0,0 +1,119 @@
+package com.springbootunittesting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.repository.EmployeeRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeLookupCoalescerTests {
+	@Mock
+	private EmployeeRepository employeeRepository;
+
+	private void givenRepositoryFindsEvenIds() {
+		given(employeeRepository.findAllById(anyIterable())).willAnswer(arguments -> {
+			Iterable<Long> ids = arguments.getArgument(0);
+			return StreamSupport.stream(ids.spliterator(), false).filter(id -> id % 2 == 0)
+					.map(id -> Employee.builder().id(id).email(id + "@email.com").build()).toList();
+		});
+	}
+
+	@Test
+	@DisplayName("Test for coalescing concurrent lookups")
+	public void givenConcurrentLookups_whenFindById_thenLoadThemTogether() throws Exception {
+		// given - precondition or setup
+		givenRepositoryFindsEvenIds();
+		EmployeeLookupCoalescer lookupCoalescer = new EmployeeLookupCoalescer(employeeRepository,
+				Duration.ofMillis(200), 100);
+		ExecutorService executor = Executors.newFixedThreadPool(20);
+
+		// when - action or behavior that we are going to test
+		List<Future<Optional<Employee>>> lookups = new ArrayList<>();
+		for (long id = 1; id <= 20; id++) {
+			long employeeId = id;
+			lookups.add(executor.submit(() -> lookupCoalescer.findById(employeeId)));
+		}
+
+		// then - verify the output
+		for (int i = 0; i < lookups.size(); i++) {
+			long id = i + 1;
+			assertThat(lookups.get(i).get().map(Employee::getId)).isEqualTo(id % 2 == 0 ? Optional.of(id) : Optional.empty());
+		}
+		executor.shutdown();
+		verify(employeeRepository, atMost(2)).findAllById(anyIterable());
+	}
+
+	@Test
+	@DisplayName("Test for loading a full batch at once")
+	public void givenFullBatch_whenFindById_thenLoadWithoutWaiting() throws Exception {
+		// given - precondition or setup
+		givenRepositoryFindsEvenIds();
+		EmployeeLookupCoalescer lookupCoalescer = new EmployeeLookupCoalescer(employeeRepository,
+				Duration.ofSeconds(30), 1);
+
+		// when - action or behavior that we are going to test
+		long started = System.nanoTime();
+		Optional<Employee> employee = lookupCoalescer.findById(2L);
+
+		// then - verify the output
+		assertThat(employee.map(Employee::getId)).contains(2L);
+		assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+		verify(employeeRepository, times(1)).findAllById(argThat(ids -> ids.iterator().next().equals(2L)));
+	}
+
+	@Test
+	@DisplayName("Test for a failing coalesced lookup")
+	public void givenFailingQuery_whenFindById_thenThrowsException() {
+		// given - precondition or setup
+		given(employeeRepository.findAllById(anyIterable())).willThrow(new IllegalStateException("database down"));
+		EmployeeLookupCoalescer lookupCoalescer = new EmployeeLookupCoalescer(employeeRepository, Duration.ZERO, 100);
+
+		// when - action or behavior that we are going to test
+		assertThrows(IllegalStateException.class, () -> lookupCoalescer.findById(1L));
+	}
+
+	@Test
+	@DisplayName("Test for an error in a coalesced lookup reaching every caller")
+	public void givenErrorInQuery_whenFindById_thenEveryLookupFails() throws Exception {
+		// given - precondition or setup
+		given(employeeRepository.findAllById(anyIterable())).willThrow(new OutOfMemoryError("Java heap space"));
+		EmployeeLookupCoalescer lookupCoalescer = new EmployeeLookupCoalescer(employeeRepository,
+				Duration.ofMillis(200), 100);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		// when - action or behavior that we are going to test
+		List<Future<Optional<Employee>>> lookups = List.of(executor.submit(() -> lookupCoalescer.findById(1L)),
+				executor.submit(() -> lookupCoalescer.findById(2L)));
+
+		// then - verify the output
+		for (Future<Optional<Employee>> lookup : lookups) {
+			ExecutionException failure = assertThrows(ExecutionException.class, () -> lookup.get(5, TimeUnit.SECONDS));
+			assertThat(failure.getCause()).isInstanceOf(OutOfMemoryError.class);
+		}
+		executor.shutdown();
+	}
+}
@@ -0,0 +1,197 @@
+package com.springbootunittesting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.repository.EmployeeRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeSearchIndexTests {
+	@Mock
+	private EmployeeRepository employeeRepository;
+	private EmployeeSearchIndex searchIndex;
+
+	@BeforeEach
+	public void setup() {
+		searchIndex = new EmployeeSearchIndex(employeeRepository, 500);
+		given(employeeRepository.streamAll()).willReturn(Stream.of(
+				Employee.builder().id(1L).firstName("Scarlett").lastName("Johansson").email("scarjo@email.com").build(),
+				Employee.builder().id(2L).firstName("Robert").lastName("Downey Jr").email("tonystark@email.com")
+						.build(),
+				Employee.builder().id(3L).firstName("Scar").lastName("Lion").email("scar.lion@email.com").build(),
+				Employee.builder().id(4L).firstName("Chris").lastName("Evans").email("cap@email.com").build()));
+		searchIndex.load();
+	}
+
+	@Test
+	@DisplayName("Test for search by name prefix")
+	public void givenNamePrefix_whenSearch_thenReturnExactMatchesFirst() {
+		// when - action or behavior that we are going to test
+		List<Employee> employees = searchIndex.search("Scar", 10);
+
+		// then - verify the output
+		assertThat(searchIndex.isLoaded()).isTrue();
+		assertThat(employees).extracting(Employee::getId).containsExactly(3L, 1L);
+	}
+
+	@Test
+	@DisplayName("Test for search with several terms")
+	public void givenSeveralTerms_whenSearch_thenReturnEmployeesMatchingAllTerms() {
+		// when - action or behavior that we are going to test
+		List<Employee> employees = searchIndex.search("scar joh", 10);
+
+		// then - verify the output
+		assertThat(employees).extracting(Employee::getId).containsExactly(1L);
+	}
+
+	@Test
+	@DisplayName("Test for search by email prefix")
+	public void givenEmailPrefix_whenSearch_thenReturnEmployee() {
+		// when - action or behavior that we are going to test
+		List<Employee> employees = searchIndex.search("tonystark@", 10);
+
+		// then - verify the output
+		assertThat(employees).extracting(Employee::getId).containsExactly(2L);
+	}
+
+	@Test
+	@DisplayName("Test for search with a typo")
+	public void givenMisspelledName_whenSearch_thenReturnNearMatches() {
+		// when - action or behavior that we are going to test
+		List<Employee> employees = searchIndex.search("Jonhansson", 10);
+
+		// then - verify the output
+		assertThat(employees).extracting(Employee::getId).containsExactly(1L);
+		assertThat(searchIndex.search("Robrt", 10)).extracting(Employee::getId).containsExactly(2L);
+	}
+
+	@Test
+	@DisplayName("Test for search result limit")
+	public void givenLimit_whenSearch_thenReturnAtMostLimitEmployees() {
+		// when - action or behavior that we are going to test
+		List<Employee> employees = searchIndex.search("scar", 1);
+
+		// then - verify the output
+		assertThat(employees).extracting(Employee::getId).containsExactly(3L);
+	}
+
+	@Test
+	@DisplayName("Test for search after update and remove")
+	public void givenUpdatedAndRemovedEmployees_whenSearch_thenReturnCurrentState() {
+		// given - precondition or setup
+		searchIndex.index(
+				Employee.builder().id(1L).firstName("Natasha").lastName("Romanoff").email("scarjo@email.com").build());
+		searchIndex.remove(3L);
+
+		// when - action or behavior that we are going to test
+		List<Employee> employees = searchIndex.search("scar", 10);
+
+		// then - verify the output
+		assertThat(employees).extracting(Employee::getId).containsExactly(1L);
+		assertThat(employees.get(0).getFirstName()).isEqualTo("Natasha");
+		assertThat(searchIndex.search("lion", 10)).isEmpty();
+		assertThat(searchIndex.size()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("Test for writes made while the index loads winning over the rows it reads")
+	public void givenWritesDuringLoad_whenLoad_thenStaleRowsSkipped() {
+		// given - precondition or setup
+		EmployeeSearchIndex loadingIndex = new EmployeeSearchIndex(employeeRepository, 500);
+		Employee renamed = Employee.builder().id(3L).firstName("Mufasa").lastName("Lion").email("mufasa@email.com")
+				.build();
+		given(employeeRepository.streamAll()).willReturn(Stream.of(
+				Employee.builder().id(1L).firstName("Scarlett").lastName("Johansson").email("scarjo@email.com").build(),
+				Employee.builder().id(2L).firstName("Robert").lastName("Downey Jr").email("tonystark@email.com")
+						.build(),
+				Employee.builder().id(3L).firstName("Scar").lastName("Lion").email("scar.lion@email.com").build())
+				.peek(employee -> {
+					if (employee.getId() == 1L) {
+						// writers delete 2 and rename 3 while the scan still returns their old rows
+						loadingIndex.remove(2L);
+						loadingIndex.index(renamed);
+					}
+				}));
+
+		// when - action or behavior that we are going to test
+		loadingIndex.load();
+
+		// then - verify the output
+		assertThat(loadingIndex.size()).isEqualTo(2);
+		assertThat(loadingIndex.search("Robert", 10)).isEmpty();
+		assertThat(loadingIndex.search("Lion", 10)).extracting(Employee::getFirstName).containsExactly("Mufasa");
+	}
+
+	@Test
+	@DisplayName("Test for search with a common lead term")
+	public void givenManyEmployeesSharingTerm_whenSearch_thenRankAllOfThem() {
+		// given - precondition or setup
+		for (long id = 100; id < 400; id++) {
+			searchIndex.index(Employee.builder().id(id).firstName("Jane").lastName("Smith")
+					.email("smith" + id + "@email.com").build());
+		}
+		searchIndex.index(Employee.builder().id(999L).firstName("John").lastName("Smith").email("js@email.com").build());
+		searchIndex.index(
+				Employee.builder().id(998L).firstName("Adam").lastName("Smith").email("adam@email.com").build());
+
+		// when - action or behavior that we are going to test
+		List<Employee> johns = searchIndex.search("smith john", 10);
+		List<Employee> smiths = searchIndex.search("smith", 1);
+
+		// then - verify the output
+		assertThat(johns).extracting(Employee::getId).containsExactly(999L);
+		assertThat(smiths).extracting(Employee::getId).containsExactly(998L);
+	}
+
+	@Test
+	@DisplayName("Test for search matching more employees than it can rank")
+	public void givenTooManyCandidates_whenSearch_thenReturnNull() {
+		// given - precondition or setup
+		for (long id = 100; id < 700; id++) {
+			searchIndex.index(Employee.builder().id(id).firstName("Jane").lastName("Smith")
+					.email("smith" + id + "@email.com").build());
+		}
+
+		// when - action or behavior that we are going to test
+		List<Employee> employees = searchIndex.search("smith", 10);
+
+		// then - verify the output
+		assertThat(employees).isNull();
+	}
+
+	@Test
+	@DisplayName("Test for applying writes to the index after commit")
+	public void givenTransaction_whenWriteEmployee_thenIndexAfterCommit() {
+		// given - precondition or setup
+		Employee employee = Employee.builder().id(5L).firstName("Ana").lastName("De Armas")
+				.email("anadearmas@email.com").build();
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			// when - action or behavior that we are going to test
+			searchIndex.onCreated(employee);
+			searchIndex.onDeleted(4L, "cap@email.com");
+
+			// then - verify the output
+			assertThat(searchIndex.search("ana", 10)).isEmpty();
+			assertThat(searchIndex.search("chris", 10)).extracting(Employee::getId).containsExactly(4L);
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+			assertThat(searchIndex.search("ana", 10)).extracting(Employee::getId).containsExactly(5L);
+			assertThat(searchIndex.search("chris", 10)).isEmpty();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package com.springbootunittesting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import com.springbootunittesting.config.CacheConfig;
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.repository.EmployeeRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringJUnitConfig({ CacheConfig.class, EmployeeServiceImpl.class })
+public class EmployeeServiceCacheTests {
+	@MockBean
+	private EmployeeRepository employeeRepository;
+	@MockBean
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private CacheManager cacheManager;
+	private Employee employee;
+
+	@BeforeEach
+	public void setup() {
+		cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE).clear();
+		employee = Employee.builder().id(1L).firstName("Scarlett").lastName("Johansson").email("scarjo@email.com")
+				.build();
+	}
+
+	@Test
+	@DisplayName("Test for getEmployee read-through cache")
+	public void givenCachedEmployee_whenGetEmployeeTwice_thenQueryRepositoryOnce() {
+		// given - precondition or setup
+		given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+
+		// when - action or behavior that we are going to test
+		employeeService.getEmployee(1L);
+		Optional<Employee> returnedEmployee = employeeService.getEmployee(1L);
+
+		// then - verify the output
+		assertThat(returnedEmployee).contains(employee);
+		verify(employeeRepository, times(1)).findById(1L);
+	}
+
+	@Test
+	@DisplayName("Test for getEmployee cache misses are not cached by default")
+	public void givenMissingEmployee_whenGetEmployeeTwice_thenQueryRepositoryTwice() {
+		// given - precondition or setup
+		given(employeeRepository.findById(2L)).willReturn(Optional.empty());
+
+		// when - action or behavior that we are going to test
+		employeeService.getEmployee(2L);
+		Optional<Employee> returnedEmployee = employeeService.getEmployee(2L);
+
+		// then - verify the output
+		assertThat(returnedEmployee).isEmpty();
+		verify(employeeRepository, times(2)).findById(2L);
+	}
+
+	@Test
+	@DisplayName("Test for updateEmployee refreshing the cache")
+	public void givenCachedEmployee_whenUpdateEmployee_thenGetEmployeeReturnsUpdated() {
+		// given - precondition or setup
+		Employee employee1 = Employee.builder().id(1L).firstName("Robert").lastName("Downey Jr")
+				.email("tonystark@email.com").build();
+		given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+		given(employeeRepository.saveAndFlush(employee)).willReturn(employee1);
+		employeeService.getEmployee(1L);
+
+		// when - action or behavior that we are going to test
+		employeeService.updateEmployee(1L, employee1);
+		Optional<Employee> returnedEmployee = employeeService.getEmployee(1L);
+
+		// then - verify the output
+		assertThat(returnedEmployee).contains(employee1);
+		verify(employeeRepository, times(2)).findById(1L);
+	}
+
+	@Test
+	@DisplayName("Test for deleteEmployee evicting the cache")
+	public void givenCachedEmployee_whenDeleteEmployee_thenGetEmployeeQueriesRepository() {
+		// given - precondition or setup
+		given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+		employeeService.getEmployee(1L);
+
+		// when - action or behavior that we are going to test
+		employeeService.deleteEmployee(1L);
+		employeeService.getEmployee(1L);
+
+		// then - verify the output
+		verify(employeeRepository, times(2)).findById(1L);
+	}
+}
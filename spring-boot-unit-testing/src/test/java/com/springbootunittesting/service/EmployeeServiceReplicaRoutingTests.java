@@ -0,0 +1,47 @@
+package com.springbootunittesting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.exception.ResourceNotFoundException;
+
+/**
+ * The replica is a database without the employees table, so any statement
+ * routed to it fails and the writes only succeed when all their reads go to
+ * the primary.
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+		"employee.replicas.enabled=true", "employee.replicas.urls=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+		"employee.replicas.read-after-write=0s", "employee.search.enabled=false" })
+@ActiveProfiles("h2")
+public class EmployeeServiceReplicaRoutingTests {
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Test
+	@DisplayName("Test for update, patch and delete reading the employee from the primary")
+	public void givenReplica_whenUpdatePatchAndDeleteEmployee_thenReadFromPrimary() {
+		// given - precondition or setup
+		Employee employee = employeeService.saveEmployee(
+				Employee.builder().firstName("Scarlett").lastName("Johansson").email("scarjo@email.com").build());
+
+		// when - action or behavior that we are going to test
+		Employee updated = employeeService.updateEmployee(employee.getId(), Employee.builder().firstName("Scarlett")
+				.lastName("Johansson").email("scarlett@email.com").version(0L).build());
+		Employee patched = employeeService.patchEmployee(employee.getId(),
+				Employee.builder().lastName("Ingrid Johansson").version(1L).build());
+		employeeService.deleteEmployee(employee.getId());
+
+		// then - verify the output
+		assertThat(updated.getVersion()).isEqualTo(1L);
+		assertThat(patched.getVersion()).isEqualTo(2L);
+		org.junit.jupiter.api.Assertions.assertThrows(ResourceNotFoundException.class,
+				() -> employeeService.patchEmployee(employee.getId(), Employee.builder().lastName("Gone").build()));
+	}
+}
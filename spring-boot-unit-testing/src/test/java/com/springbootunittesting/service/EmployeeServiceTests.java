@@ -4,13 +4,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,15 +23,34 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import com.springbootunittesting.dto.EmployeeBatchResult;
+import com.springbootunittesting.dto.EmployeeBulkResult;
+import com.springbootunittesting.dto.EmployeePage;
 import com.springbootunittesting.entity.Employee;
 import com.springbootunittesting.exception.ResourceExistsException;
 import com.springbootunittesting.repository.EmployeeRepository;
 
+import jakarta.persistence.EntityManager;
+
 @ExtendWith(MockitoExtension.class)
 public class EmployeeServiceTests {
 	@Mock
 	private EmployeeRepository employeeRepository;
+	@Mock
+	private EntityManager entityManager;
+	@Mock
+	private EmployeeEmailFilter emailFilter;
+	@Mock
+	private EmployeeSearchIndex searchIndex;
+	@Mock
+	private EmployeeLookupCoalescer lookupCoalescer;
+	@Mock
+	private EmployeeWriteListener writeListener;
 	@InjectMocks
 	private EmployeeServiceImpl employeeService;
 	private Employee employee;
@@ -41,20 +65,34 @@ public class EmployeeServiceTests {
 	@DisplayName("Test for savEmployee method")
 	public void givenEmployee_whenSaveEmployee_thenReturnEmployee() {
 		// given - precondition or setup
-		given(employeeRepository.save(employee)).willReturn(employee);
-		given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.empty());
+		given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
 
 		// when - action or behavior that we are going to test
 		Employee savedEmployee = employeeService.saveEmployee(employee);
 
 		// then - verify the output
 		assertThat(savedEmployee).isNotNull();
+		verify(employeeRepository, never()).findByEmail(any(String.class));
 	}
 
 	@Test
 	@DisplayName("Test for savEmployee method exception")
 	public void givenExistingEmployee_whenSaveEmployee_thenThrowsException() {
 		// given - precondition or setup
+		given(employeeRepository.saveAndFlush(employee)).willThrow(new DataIntegrityViolationException("duplicate",
+				new ConstraintViolationException("duplicate", null, Employee.EMAIL_CONSTRAINT)));
+
+		// when - action or behavior that we are going to test
+		org.junit.jupiter.api.Assertions.assertThrows(ResourceExistsException.class,
+				() -> employeeService.saveEmployee(employee));
+	}
+
+	@Test
+	@DisplayName("Test for savEmployee method with email filter hit")
+	public void givenEmailFilterHitAndExistingEmployee_whenSaveEmployee_thenThrowsException() {
+		// given - precondition or setup
+		ReflectionTestUtils.setField(employeeService, "emailFilter", emailFilter);
+		given(emailFilter.mightContain(employee.getEmail())).willReturn(true);
 		given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
 
 		// when - action or behavior that we are going to test
@@ -62,7 +100,24 @@ public class EmployeeServiceTests {
 				() -> employeeService.saveEmployee(employee));
 
 		// then - verify the output
-		verify(employeeRepository, never()).save(any(Employee.class));
+		verify(employeeRepository, never()).saveAndFlush(any(Employee.class));
+	}
+
+	@Test
+	@DisplayName("Test for savEmployee method with email filter miss")
+	public void givenEmailFilterMiss_whenSaveEmployee_thenSkipLookup() {
+		// given - precondition or setup
+		ReflectionTestUtils.setField(employeeService, "emailFilter", emailFilter);
+		ReflectionTestUtils.setField(employeeService, "writeListeners", List.of(emailFilter));
+		given(emailFilter.mightContain(employee.getEmail())).willReturn(false);
+		given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+
+		// when - action or behavior that we are going to test
+		employeeService.saveEmployee(employee);
+
+		// then - verify the output
+		verify(employeeRepository, never()).findByEmail(any(String.class));
+		verify(emailFilter, times(1)).onCreated(employee);
 	}
 
 	@Test
@@ -71,7 +126,7 @@ public class EmployeeServiceTests {
 		// given - precondition or setup
 		Employee employee1 = Employee.builder().id(2L).firstName("Robert").lastName("Downey Jr")
 				.email("tonystark@email.com").build();
-		given(employeeRepository.findAll()).willReturn(List.of(employee, employee1));
+		given(employeeRepository.listAll()).willReturn(List.of(employee, employee1));
 
 		// when - action or behavior that we are going to test
 		List<Employee> employees = employeeService.getAllEmployees();
@@ -103,7 +158,7 @@ public class EmployeeServiceTests {
 				.email("tonystark@email.com").build();
 		Long id = 1L;
 		given(employeeRepository.findById(id)).willReturn(Optional.of(employee));
-		given(employeeRepository.save(employee1)).willReturn(employee1);
+		given(employeeRepository.saveAndFlush(employee1)).willReturn(employee1);
 
 		// when - action or behavior that we are going to test
 		Employee returnedEmployee = employeeService.updateEmployee(id, employee1);
@@ -124,4 +179,339 @@ public class EmployeeServiceTests {
 		// then - verify the output
 		verify(employeeRepository, times(1)).deleteById(id);
 	}
+
+	@Test
+	@DisplayName("Test for getEmployees page method")
+	public void givenLimitAboveCap_whenGetEmployees_thenQueryCappedPage() {
+		// given - precondition or setup
+		Employee employee1 = Employee.builder().id(2L).firstName("Robert").lastName("Downey Jr")
+				.email("tonystark@email.com").build();
+		given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 500)))
+				.willReturn(List.of(employee, employee1));
+
+		// when - action or behavior that we are going to test
+		EmployeePage page = employeeService.getEmployees(null, 100_000);
+
+		// then - verify the output
+		assertThat(page.getEmployees()).hasSize(2);
+		assertThat(page.getNextCursor()).isNull();
+	}
+
+	@Test
+	@DisplayName("Test for getEmployees page method next cursor")
+	public void givenFullPage_whenGetEmployees_thenReturnNextCursor() {
+		// given - precondition or setup
+		given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 1)))
+				.willReturn(List.of(employee));
+
+		// when - action or behavior that we are going to test
+		EmployeePage page = employeeService.getEmployees(0L, 1);
+
+		// then - verify the output
+		assertThat(page.getNextCursor()).isEqualTo(employee.getId());
+	}
+
+	@Test
+	@DisplayName("Test for exportEmployees method")
+	public void givenEmployees_whenExportEmployees_thenConsumeEveryEmployee() {
+		// given - precondition or setup
+		Employee employee1 = Employee.builder().id(2L).firstName("Robert").lastName("Downey Jr")
+				.email("tonystark@email.com").build();
+		given(employeeRepository.streamAll()).willReturn(Stream.of(employee, employee1));
+		List<Employee> exported = new ArrayList<>();
+
+		// when - action or behavior that we are going to test
+		employeeService.exportEmployees(exported::add);
+
+		// then - verify the output
+		assertThat(exported).containsExactly(employee, employee1);
+	}
+
+	@Test
+	@DisplayName("Test for saveEmployees method")
+	public void givenEmployeesWithDuplicates_whenSaveEmployees_thenRejectDuplicates() {
+		// given - precondition or setup
+		ReflectionTestUtils.setField(employeeService, "entityManager", entityManager);
+		Employee employee1 = Employee.builder().firstName("Robert").lastName("Downey Jr").email("tonystark@email.com")
+				.build();
+		Employee employee2 = Employee.builder().firstName("Tony").lastName("Stark").email("tonystark@email.com")
+				.build();
+		given(employeeRepository.findExistingEmails(List.of(employee.getEmail(), employee1.getEmail())))
+				.willReturn(List.of(employee.getEmail()));
+
+		// when - action or behavior that we are going to test
+		EmployeeBatchResult result = employeeService.saveEmployees(List.of(employee, employee1, employee2));
+
+		// then - verify the output
+		assertThat(result.getAccepted()).containsExactly(employee1);
+		assertThat(result.getRejected()).containsExactly(employee, employee2);
+		verify(employeeRepository, times(1)).saveAll(List.of(employee1));
+		verify(employeeRepository, times(1)).flush();
+		verify(entityManager, times(1)).clear();
+	}
+
+	@Test
+	@DisplayName("Test for saveEmployees method when the batch hits the email constraint")
+	public void givenConcurrentlyInsertedEmail_whenSaveEmployees_thenThrowsException() {
+		// given - precondition or setup
+		ReflectionTestUtils.setField(employeeService, "entityManager", entityManager);
+		given(employeeRepository.findExistingEmails(List.of(employee.getEmail()))).willReturn(List.of());
+		willThrow(new DataIntegrityViolationException("duplicate",
+				new ConstraintViolationException("duplicate", null, Employee.EMAIL_CONSTRAINT)))
+				.given(employeeRepository).flush();
+
+		// when - action or behavior that we are going to test
+		org.junit.jupiter.api.Assertions.assertThrows(ResourceExistsException.class, () -> {
+			employeeService.saveEmployees(List.of(employee));
+		});
+
+		// then - verify the output
+		verify(entityManager, never()).clear();
+	}
+
+	@Test
+	@DisplayName("Test for searchEmployees method with a loaded index")
+	public void givenLoadedSearchIndex_whenSearchEmployees_thenReturnIndexResults() {
+		// given - precondition or setup
+		ReflectionTestUtils.setField(employeeService, "searchIndex", searchIndex);
+		given(searchIndex.isLoaded()).willReturn(true);
+		given(searchIndex.search("scar", 50)).willReturn(List.of(employee));
+
+		// when - action or behavior that we are going to test
+		List<Employee> employees = employeeService.searchEmployees("scar", 1000);
+
+		// then - verify the output
+		assertThat(employees).containsExactly(employee);
+		verify(employeeRepository, never()).searchByPrefixes(any(), any(PageRequest.class));
+	}
+
+	@Test
+	@DisplayName("Test for searchEmployees method before the index is loaded")
+	public void givenSearchIndexNotLoaded_whenSearchEmployees_thenQueryDatabase() {
+		// given - precondition or setup
+		ReflectionTestUtils.setField(employeeService, "searchIndex", searchIndex);
+		given(searchIndex.isLoaded()).willReturn(false);
+		given(employeeRepository.searchByPrefixes(List.of("scar\\_%", "joh%"), PageRequest.of(0, 10)))
+				.willReturn(List.of(employee));
+
+		// when - action or behavior that we are going to test
+		List<Employee> employees = employeeService.searchEmployees(" Scar_ Joh", 10);
+
+		// then - verify the output
+		assertThat(employees).containsExactly(employee);
+	}
+
+	@Test
+	@DisplayName("Test for searchEmployees method when the index matches too many employees")
+	public void givenSearchIndexOverflow_whenSearchEmployees_thenQueryDatabase() {
+		// given - precondition or setup
+		ReflectionTestUtils.setField(employeeService, "searchIndex", searchIndex);
+		given(searchIndex.isLoaded()).willReturn(true);
+		given(searchIndex.search("smith john", 10)).willReturn(null);
+		given(employeeRepository.searchByPrefixes(List.of("smith%", "john%"), PageRequest.of(0, 10)))
+				.willReturn(List.of(employee));
+
+		// when - action or behavior that we are going to test
+		List<Employee> employees = employeeService.searchEmployees("smith john", 10);
+
+		// then - verify the output
+		assertThat(employees).containsExactly(employee);
+	}
+
+	@Test
+	@DisplayName("Test for write listeners on save and delete")
+	public void givenWriteListener_whenSaveAndDeleteEmployee_thenListenerFollows() {
+		// given - precondition or setup
+		ReflectionTestUtils.setField(employeeService, "writeListeners", List.of(writeListener));
+		given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+		willDoNothing().given(employeeRepository).deleteById(employee.getId());
+
+		// when - action or behavior that we are going to test
+		employeeService.saveEmployee(employee);
+		employeeService.deleteEmployee(employee.getId());
+
+		// then - verify the output
+		verify(writeListener, times(1)).onCreated(employee);
+		verify(writeListener, times(1)).onDeleted(employee.getId(), null);
+	}
+
+	@Test
+	@DisplayName("Test for updateEmailDomain method")
+	public void givenManyIds_whenUpdateEmailDomain_thenUpdateInChunks() {
+		// given - precondition or setup
+		ReflectionTestUtils.setField(employeeService, "writeListeners", List.of(writeListener));
+		List<Long> ids = LongStream.rangeClosed(1, 1500).boxed().toList();
+		given(employeeRepository.updateEmailDomain(ids.subList(0, 1000), "studio.com")).willReturn(1000);
+		given(employeeRepository.updateEmailDomain(ids.subList(1000, 1500), "studio.com")).willReturn(499);
+		given(employeeRepository.listByIds(ids.subList(0, 1000))).willReturn(List.of(employee));
+
+		// when - action or behavior that we are going to test
+		EmployeeBulkResult result = employeeService.updateEmailDomain(ids, "studio.com");
+
+		// then - verify the output
+		assertThat(result.getRequested()).isEqualTo(1500);
+		assertThat(result.getAffected()).isEqualTo(1499);
+		verify(writeListener, times(1)).onBulkUpdated(List.of(employee));
+	}
+
+	@Test
+	@DisplayName("Test for updateEmailDomain method exception")
+	public void givenCollidingEmails_whenUpdateEmailDomain_thenThrowsException() {
+		// given - precondition or setup
+		given(employeeRepository.updateEmailDomain(List.of(1L, 2L), "studio.com")).willThrow(
+				new DataIntegrityViolationException("duplicate",
+						new ConstraintViolationException("duplicate", null, Employee.EMAIL_CONSTRAINT)));
+
+		// when - action or behavior that we are going to test
+		org.junit.jupiter.api.Assertions.assertThrows(ResourceExistsException.class,
+				() -> employeeService.updateEmailDomain(List.of(1L, 2L, 1L), "studio.com"));
+	}
+
+	@Test
+	@DisplayName("Test for deleteEmployees method")
+	public void givenIds_whenDeleteEmployees_thenReturnAffectedRows() {
+		// given - precondition or setup
+		ReflectionTestUtils.setField(employeeService, "writeListeners", List.of(writeListener));
+		given(employeeRepository.deleteByIds(List.of(1L, 2L))).willReturn(1);
+
+		// when - action or behavior that we are going to test
+		EmployeeBulkResult result = employeeService.deleteEmployees(List.of(1L, 2L, 2L));
+
+		// then - verify the output
+		assertThat(result.getRequested()).isEqualTo(2);
+		assertThat(result.getAffected()).isEqualTo(1);
+		verify(writeListener, times(1)).onBulkDeleted(List.of(1L, 2L));
+	}
+
+	@Test
+	@DisplayName("Test for patchEmployee method")
+	public void givenChangedFields_whenPatchEmployee_thenUpdateOnlyThoseFields() {
+		// given - precondition or setup
+		employee.setVersion(3L);
+		given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+		given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+
+		// when - action or behavior that we are going to test
+		Employee patched = employeeService.patchEmployee(1L,
+				Employee.builder().email("scarlett@email.com").version(3L).build());
+
+		// then - verify the output
+		assertThat(patched.getFirstName()).isEqualTo("Scarlett");
+		assertThat(patched.getLastName()).isEqualTo("Johansson");
+		assertThat(patched.getEmail()).isEqualTo("scarlett@email.com");
+	}
+
+	@Test
+	@DisplayName("Test for updateEmployee method with a stale version")
+	public void givenStaleVersion_whenUpdateEmployee_thenThrowsException() {
+		// given - precondition or setup
+		employee.setVersion(3L);
+		given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+		Employee employee1 = Employee.builder().firstName("Robert").lastName("Downey Jr").email("tonystark@email.com")
+				.version(2L).build();
+
+		// when - action or behavior that we are going to test
+		org.junit.jupiter.api.Assertions.assertThrows(ObjectOptimisticLockingFailureException.class,
+				() -> employeeService.updateEmployee(1L, employee1));
+
+		// then - verify the output
+		verify(employeeRepository, never()).saveAndFlush(any(Employee.class));
+	}
+
+	@Test
+	@DisplayName("Test for deleteEmployee method with a stale version")
+	public void givenStaleVersion_whenDeleteEmployee_thenThrowsException() {
+		// given - precondition or setup
+		given(employeeRepository.deleteByIdAndVersion(1L, 2L)).willReturn(0);
+		given(employeeRepository.existsById(1L)).willReturn(true);
+
+		// when - action or behavior that we are going to test
+		org.junit.jupiter.api.Assertions.assertThrows(ObjectOptimisticLockingFailureException.class,
+				() -> employeeService.deleteEmployee(1L, 2L));
+	}
+
+	@Test
+	@DisplayName("Test for write listeners on save, update and delete")
+	public void givenWriteListener_whenWriteEmployee_thenNotifyOncePerWrite() {
+		// given - precondition or setup
+		ReflectionTestUtils.setField(employeeService, "writeListeners", List.of(writeListener));
+		given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+		given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+		given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+		willDoNothing().given(employeeRepository).deleteById(employee.getId());
+
+		// when - action or behavior that we are going to test
+		employeeService.saveEmployee(employee);
+		employeeService.updateEmployee(employee.getId(), employee);
+		employeeService.deleteEmployee(employee.getId());
+
+		// then - verify the output
+		verify(writeListener, times(1)).onCreated(employee);
+		verify(writeListener, times(1)).onUpdated(employee, employee.getEmail());
+		verify(writeListener, times(1)).onDeleted(employee.getId(), null);
+	}
+
+	@Test
+	@DisplayName("Test for getEmployeesById method")
+	public void givenIds_whenGetEmployeesById_thenReturnEmployeesInRequestedOrder() {
+		// given - precondition or setup
+		Employee employee1 = Employee.builder().id(2L).firstName("Robert").lastName("Downey Jr")
+				.email("tonystark@email.com").build();
+		given(employeeRepository.findAllById(List.of(2L, 3L, 1L))).willReturn(List.of(employee, employee1));
+
+		// when - action or behavior that we are going to test
+		List<Employee> employees = employeeService.getEmployeesById(List.of(2L, 3L, 1L, 2L));
+
+		// then - verify the output
+		assertThat(employees).containsExactly(employee1, employee);
+	}
+
+	@Test
+	@DisplayName("Test for getEmployeesById method with too many ids")
+	public void givenTooManyIds_whenGetEmployeesById_thenThrowsException() {
+		// given - precondition or setup
+		List<Long> ids = LongStream.rangeClosed(1, 501).boxed().toList();
+
+		// when - action or behavior that we are going to test
+		org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
+				() -> employeeService.getEmployeesById(ids));
+
+		// then - verify the output
+		verify(employeeRepository, never()).findAllById(any());
+	}
+
+	@Test
+	@DisplayName("Test for getEmployee method with lookup coalescing")
+	public void givenLookupCoalescer_whenGetEmployee_thenLookUpThroughIt() {
+		// given - precondition or setup
+		ReflectionTestUtils.setField(employeeService, "lookupCoalescer", lookupCoalescer);
+		given(lookupCoalescer.findById(1L)).willReturn(Optional.of(employee));
+
+		// when - action or behavior that we are going to test
+		Optional<Employee> returnedEmployee = employeeService.getEmployee(1L);
+
+		// then - verify the output
+		assertThat(returnedEmployee).contains(employee);
+		verify(employeeRepository, never()).findById(any());
+	}
+
+	@Test
+	@DisplayName("Test for write listeners seeing the previous and the deleted email")
+	public void givenWriteListener_whenUpdateAndDeleteEmployee_thenPassEmails() {
+		// given - precondition or setup
+		ReflectionTestUtils.setField(employeeService, "writeListeners", List.of(writeListener));
+		Employee changes = Employee.builder().firstName("Scarlett").lastName("Johansson").email("scarjo@example.org")
+				.build();
+		given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+		given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+		given(employeeRepository.findEmailById(1L)).willReturn(Optional.of("scarjo@example.org"));
+
+		// when - action or behavior that we are going to test
+		employeeService.updateEmployee(1L, changes);
+		employeeService.deleteEmployee(1L);
+
+		// then - verify the output
+		verify(writeListener).onUpdated(employee, "scarjo@email.com");
+		verify(writeListener).onDeleted(1L, "scarjo@example.org");
+	}
 }
@@ -0,0 +1,119 @@
+package com.springbootunittesting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.springbootunittesting.dto.EmployeeVersion;
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.repository.EmployeeRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeSnapshotStoreTests {
+	@Mock
+	private EmployeeRepository employeeRepository;
+	@Mock
+	private PlatformTransactionManager transactionManager;
+	@Mock
+	private ObjectProvider<MeterRegistry> meterRegistry;
+
+	private List<Employee> employees;
+	private EmployeeSnapshotStore snapshotStore;
+
+	@BeforeEach
+	public void setup() {
+		employees = new ArrayList<>(LongStream.rangeClosed(1, 8).mapToObj(id -> employee(id, 0)).toList());
+		snapshotStore = new EmployeeSnapshotStore(employeeRepository, transactionManager, meterRegistry,
+				Duration.ofSeconds(10), Duration.ofHours(1));
+		given(employeeRepository.streamAll()).willAnswer(arguments -> List.copyOf(employees).stream());
+		snapshotStore.refresh();
+	}
+
+	@Test
+	@DisplayName("Test for loading the first snapshot from a full scan")
+	public void givenNoSnapshot_whenRefresh_thenLoadAllEmployees() {
+		// then - verify the output
+		assertThat(snapshotStore.getSnapshot().list()).isEqualTo(employees);
+		assertThat(snapshotStore.getRefreshedAt()).isNotNull();
+		verify(employeeRepository, never()).streamVersions();
+	}
+
+	@Test
+	@DisplayName("Test for fetching only new and changed rows on refresh")
+	public void givenFewChanges_whenRefresh_thenFetchOnlyChangedRows() {
+		// given - precondition or setup
+		Employee changed = employee(5, 1);
+		Employee added = employee(12, 0);
+		employees.set(4, changed);
+		employees.remove(7);
+		employees.add(added);
+		givenVersionsOf(employees);
+		given(employeeRepository.listByIds(List.of(5L, 12L))).willReturn(List.of(changed, added));
+
+		// when - action or behavior that we are going to test
+		snapshotStore.refresh();
+
+		// then - verify the output
+		assertThat(snapshotStore.getSnapshot().list()).isEqualTo(employees);
+		verify(employeeRepository, times(1)).streamAll();
+	}
+
+	@Test
+	@DisplayName("Test for keeping the snapshot when nothing changed")
+	public void givenNoChanges_whenRefresh_thenKeepSnapshot() {
+		// given - precondition or setup
+		EmployeeSnapshot snapshot = snapshotStore.getSnapshot();
+		givenVersionsOf(employees);
+
+		// when - action or behavior that we are going to test
+		snapshotStore.refresh();
+
+		// then - verify the output
+		assertThat(snapshotStore.getSnapshot()).isSameAs(snapshot);
+	}
+
+	@Test
+	@DisplayName("Test for building from scratch when many rows changed")
+	public void givenManyChanges_whenRefresh_thenRebuild() {
+		// given - precondition or setup
+		for (int i = 0; i < 3; i++) {
+			employees.set(i, employee(i + 1, 1));
+		}
+		givenVersionsOf(employees);
+
+		// when - action or behavior that we are going to test
+		snapshotStore.refresh();
+
+		// then - verify the output
+		assertThat(snapshotStore.getSnapshot().list()).isEqualTo(employees);
+		verify(employeeRepository, times(2)).streamAll();
+	}
+
+	private void givenVersionsOf(List<Employee> rows) {
+		given(employeeRepository.streamVersions()).willAnswer(arguments -> rows.stream()
+				.map(employee -> new EmployeeVersion(employee.getId(), employee.getVersion())).toList().stream());
+	}
+
+	private static Employee employee(long id, long version) {
+		return Employee.builder().id(id).firstName("First" + id).lastName(version == 0 ? "Last" : "Renamed")
+				.email("employee" + id + "@email.com").version(version).build();
+	}
+}
@@ -0,0 +1,116 @@
+package com.springbootunittesting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.springbootunittesting.entity.Employee;
+
+public class EmployeeSnapshotTests {
+	private Employee employee1;
+	private Employee employee2;
+	private Employee employee3;
+	private EmployeeSnapshot snapshot;
+
+	@BeforeEach
+	public void setup() {
+		employee1 = Employee.builder().id(1L).firstName("Scarlett").lastName("Johansson").email("scarjo@email.com")
+				.version(0L).build();
+		employee2 = Employee.builder().id(5L).firstName("Zoë").lastName("Saldaña").email("zoe@email.com").version(3L)
+				.build();
+		employee3 = Employee.builder().id(9L).firstName("Scarlett").lastName("Johansson").email("scarjo@example.org")
+				.version(1L).build();
+		snapshot = EmployeeSnapshot.builder(2).add(employee1).add(employee2).add(employee3).build();
+	}
+
+	@Test
+	@DisplayName("Test for finding employees by id in a snapshot")
+	public void givenSnapshot_whenFind_thenReturnEqualEmployee() {
+		// when - action or behavior that we are going to test
+		Employee found = snapshot.find(5L).get();
+
+		// then - verify the output
+		assertThat(found).isEqualTo(employee2).isNotSameAs(employee2);
+		assertThat(snapshot.find(4L)).isEmpty();
+		assertThat(snapshot.find(10L)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Test for listing and paging a snapshot in id order")
+	public void givenSnapshot_whenListAndPage_thenReturnEmployeesInIdOrder() {
+		// when - action or behavior that we are going to test
+		List<Employee> all = snapshot.list();
+		List<Employee> afterFirst = snapshot.page(1L, 10);
+		List<Employee> afterMissingId = snapshot.page(2L, 1);
+
+		// then - verify the output
+		assertThat(all).containsExactly(employee1, employee2, employee3);
+		assertThat(afterFirst).containsExactly(employee2, employee3);
+		assertThat(afterMissingId).containsExactly(employee2);
+		assertThat(snapshot.page(null, Integer.MAX_VALUE)).hasSize(3);
+		assertThat(snapshot.page(9L, 10)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Test for storing each distinct string once")
+	public void givenRepeatedNamesAndDomains_whenBuild_thenStringsStoredOnce() {
+		// given - precondition or setup
+		EmployeeSnapshot single = EmployeeSnapshot.builder(1).add(employee1).build();
+
+		// when - action or behavior that we are going to test
+		EmployeeSnapshot repeated = EmployeeSnapshot.builder(2).add(employee1)
+				.add(Employee.builder().id(2L).firstName("Scarlett").lastName("Johansson")
+						.email("scarjo@email.com").version(0L).build())
+				.build();
+
+		// then - verify the output
+		assertThat(repeated.getStringBytes()).isEqualTo(single.getStringBytes());
+		assertThat(repeated.getBytes()).isLessThan(2 * single.getBytes());
+	}
+
+	@Test
+	@DisplayName("Test for keeping nulls and emails without an '@'")
+	public void givenMissingValues_whenBuild_thenKeptAsTheyWere() {
+		// given - precondition or setup
+		Employee employee = Employee.builder().id(1L).firstName("Cher").email("cher").build();
+
+		// when - action or behavior that we are going to test
+		EmployeeSnapshot built = EmployeeSnapshot.builder(1).add(employee).build();
+
+		// then - verify the output
+		assertThat(built.find(1L)).contains(employee);
+	}
+
+	@Test
+	@DisplayName("Test for deriving a snapshot that copies unchanged rows")
+	public void givenDerivedBuilder_whenCopyAndAdd_thenReturnMergedSnapshot() {
+		// given - precondition or setup
+		Employee changed = Employee.builder().id(5L).firstName("Zoe").lastName("Saldana").email("zoe@email.com")
+				.version(4L).build();
+		Employee added = Employee.builder().id(12L).firstName("Ana").lastName("De Armas")
+				.email("anadearmas@email.com").version(0L).build();
+
+		// when - action or behavior that we are going to test
+		EmployeeSnapshot derived = snapshot.derive(3).copy(0).add(changed).add(added).build();
+
+		// then - verify the output
+		assertThat(derived.list()).containsExactly(employee1, changed, added);
+		assertThat(snapshot.list()).containsExactly(employee1, employee2, employee3);
+		assertThat(derived.getAppendedStringBytes()).isEqualTo(derived.getStringBytes() - snapshot.getStringBytes())
+				.isPositive();
+	}
+
+	@Test
+	@DisplayName("Test for rejecting rows out of id order")
+	public void givenDescendingIds_whenAdd_thenThrowsException() {
+		// given - precondition or setup
+		EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder(2).add(employee2);
+
+		// when - action or behavior that we are going to test
+		org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class, () -> builder.add(employee1));
+	}
+}
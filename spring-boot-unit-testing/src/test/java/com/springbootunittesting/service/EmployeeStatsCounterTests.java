@@ -0,0 +1,144 @@
+package com.springbootunittesting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.springbootunittesting.dto.EmployeeDomainCount;
+import com.springbootunittesting.dto.EmployeeStats;
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.repository.EmployeeRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeStatsCounterTests {
+	@Mock
+	private EmployeeRepository employeeRepository;
+
+	private EmployeeStatsCounter statsCounter;
+
+	@BeforeEach
+	public void setup() {
+		statsCounter = new EmployeeStatsCounter(employeeRepository, Duration.ofHours(1));
+		given(employeeRepository.countByEmailDomain()).willReturn(
+				List.of(new EmployeeDomainCount("email.com", 3L), new EmployeeDomainCount("example.org", 1L)));
+		statsCounter.reconcile();
+	}
+
+	@Test
+	@DisplayName("Test for counting employees per domain from the database")
+	public void givenRecount_whenGetStats_thenReturnDatabaseCounts() {
+		// when - action or behavior that we are going to test
+		EmployeeStats stats = statsCounter.getStats();
+
+		// then - verify the output
+		assertThat(stats.getTotal()).isEqualTo(4);
+		assertThat(stats.getDomains()).containsExactly(Map.entry("email.com", 3L), Map.entry("example.org", 1L));
+		assertThat(stats.getReconciledAt()).isNotNull();
+	}
+
+	@Test
+	@DisplayName("Test for adjusting the counts on writes")
+	public void givenWrites_whenGetStats_thenCountsFollow() {
+		// given - precondition or setup
+		statsCounter.created("new@Example.org");
+		statsCounter.updated("old@email.com", "old@example.org");
+		statsCounter.updated("same@email.com", "renamed@email.com");
+		statsCounter.deleted("gone@email.com");
+
+		// when - action or behavior that we are going to test
+		EmployeeStats stats = statsCounter.getStats();
+
+		// then - verify the output
+		assertThat(stats.getTotal()).isEqualTo(4);
+		assertThat(stats.getDomains()).containsExactly(Map.entry("example.org", 3L), Map.entry("email.com", 1L));
+	}
+
+	@Test
+	@DisplayName("Test for adjusting the counts on writes the service reports")
+	public void givenWriteEvents_whenGetStats_thenCountsFollow() {
+		// given - precondition or setup
+		statsCounter.onCreated(Employee.builder().id(5L).email("new@example.org").build());
+		statsCounter.onUpdated(Employee.builder().id(1L).email("moved@example.org").build(), "moved@email.com");
+		statsCounter.onDeleted(2L, null);
+
+		// when - action or behavior that we are going to test
+		EmployeeStats stats = statsCounter.getStats();
+
+		// then - verify the output
+		assertThat(stats.getTotal()).isEqualTo(5);
+		assertThat(stats.getDomains()).containsExactly(Map.entry("example.org", 3L), Map.entry("email.com", 2L));
+	}
+
+	@Test
+	@DisplayName("Test for reusing the sorted counts until they change")
+	public void givenUnchangedCounts_whenGetStatsAgain_thenReuseSortedCounts() {
+		// given - precondition or setup
+		EmployeeStats first = statsCounter.getStats();
+
+		// when - action or behavior that we are going to test
+		EmployeeStats second = statsCounter.getStats();
+		statsCounter.created("new@example.org");
+		EmployeeStats third = statsCounter.getStats();
+
+		// then - verify the output
+		assertThat(second.getDomains()).isSameAs(first.getDomains());
+		assertThat(third.getDomains()).isNotSameAs(first.getDomains())
+				.containsExactly(Map.entry("email.com", 3L), Map.entry("example.org", 2L));
+		assertThat(third.getTotal()).isEqualTo(5);
+	}
+
+	@Test
+	@DisplayName("Test for keeping writes counted while a recount runs")
+	public void givenWriteDuringRecount_whenReconcile_thenWriteKept() {
+		// given - precondition or setup
+		given(employeeRepository.countByEmailDomain()).willAnswer(arguments -> {
+			statsCounter.created("late@email.com");
+			return List.of(new EmployeeDomainCount("email.com", 3L));
+		});
+
+		// when - action or behavior that we are going to test
+		statsCounter.reconcile();
+
+		// then - verify the output
+		assertThat(statsCounter.getStats().getTotal()).isEqualTo(4);
+		assertThat(statsCounter.getStats().getDomains()).containsExactly(Map.entry("email.com", 4L));
+	}
+
+	@Test
+	@DisplayName("Test for correcting drifted counts")
+	public void givenDriftedCounts_whenReconcile_thenMatchDatabase() {
+		// given - precondition or setup
+		statsCounter.deleted("missed@example.org");
+		statsCounter.created("phantom@example.net");
+
+		// when - action or behavior that we are going to test
+		statsCounter.reconcile();
+
+		// then - verify the output
+		assertThat(statsCounter.getStats().getDomains()).containsExactly(Map.entry("email.com", 3L),
+				Map.entry("example.org", 1L));
+	}
+
+	@Test
+	@DisplayName("Test for the count of a single domain")
+	public void givenDomain_whenGetStats_thenReturnOnlyThatDomain() {
+		// when - action or behavior that we are going to test
+		EmployeeStats stats = statsCounter.getStats("EMAIL.com");
+		EmployeeStats unknown = statsCounter.getStats("unknown.com");
+
+		// then - verify the output
+		assertThat(stats.getTotal()).isEqualTo(4);
+		assertThat(stats.getDomains()).containsExactly(Map.entry("email.com", 3L));
+		assertThat(unknown.getDomains()).containsExactly(Map.entry("unknown.com", 0L));
+	}
+}
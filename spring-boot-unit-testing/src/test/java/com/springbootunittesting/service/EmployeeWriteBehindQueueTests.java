@@ -0,0 +1,144 @@
+package com.springbootunittesting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.springbootunittesting.dto.EmployeeBatchResult;
+import com.springbootunittesting.dto.EmployeeWriteStatus;
+import com.springbootunittesting.dto.EmployeeWriteStatus.State;
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.exception.WriteQueueFullException;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeWriteBehindQueueTests {
+	@Mock
+	private EmployeeService employeeService;
+	private EmployeeWriteBehindQueue writeBehindQueue;
+	private Employee employee;
+	private Employee employee1;
+
+	@BeforeEach
+	public void setup() {
+		writeBehindQueue = new EmployeeWriteBehindQueue(employeeService, 1, 10, Duration.ofSeconds(5),
+				Duration.ofMinutes(1));
+		employee = Employee.builder().firstName("Scarlett").lastName("Johansson").email("scarjo@email.com").build();
+		employee1 = Employee.builder().firstName("Robert").lastName("Downey Jr").email("tonystark@email.com").build();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		if (writeBehindQueue.isRunning()) {
+			writeBehindQueue.stop();
+		}
+	}
+
+	@Test
+	@DisplayName("Test for write-behind batch outcomes")
+	public void givenQueuedCreates_whenStop_thenFlushAndReportOutcomes() {
+		// given - precondition or setup
+		given(employeeService.saveEmployees(anyList())).willAnswer(arguments -> {
+			List<Employee> employees = arguments.getArgument(0);
+			employees.get(0).setId(1L);
+			return new EmployeeBatchResult(List.of(employees.get(0)), employees.subList(1, employees.size()));
+		});
+		writeBehindQueue.start();
+
+		// when - action or behavior that we are going to test
+		EmployeeWriteStatus status = writeBehindQueue.submit(employee);
+		writeBehindQueue.stop();
+
+		// then - verify the output
+		assertThat(status.getState()).isEqualTo(State.PENDING);
+		assertThat(writeBehindQueue.getStatus(status.getTrackingId()).getState()).isEqualTo(State.CREATED);
+		assertThat(writeBehindQueue.getStatus(status.getTrackingId()).getEmployeeId()).isEqualTo(1L);
+		assertThat(writeBehindQueue.getQueued()).isZero();
+	}
+
+	@Test
+	@DisplayName("Test for write-behind backpressure")
+	public void givenFullQueue_whenSubmit_thenThrowsException() throws InterruptedException {
+		// given - precondition or setup
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		given(employeeService.saveEmployees(anyList())).willAnswer(arguments -> {
+			writing.countDown();
+			release.await();
+			return new EmployeeBatchResult(arguments.getArgument(0), List.of());
+		});
+		writeBehindQueue.start();
+		writeBehindQueue.submit(employee);
+		writing.await();
+		writeBehindQueue.submit(employee1);
+
+		// when - action or behavior that we are going to test
+		// then - verify the output
+		assertThrows(WriteQueueFullException.class,
+				() -> writeBehindQueue.submit(Employee.builder().email("third@email.com").build()));
+		release.countDown();
+	}
+
+	@Test
+	@DisplayName("Test for write-behind batch failure")
+	public void givenFailingBatch_whenWrite_thenRetryEachCreate() {
+		// given - precondition or setup
+		given(employeeService.saveEmployees(anyList())).willThrow(new IllegalStateException("batch failed"));
+		given(employeeService.saveEmployee(employee)).willAnswer(arguments -> {
+			employee.setId(7L);
+			return employee;
+		});
+		given(employeeService.saveEmployee(employee1)).willThrow(new IllegalStateException("row failed"));
+
+		// when - action or behavior that we are going to test
+		writeBehindQueue.write(List.of(new EmployeeWriteBehindQueue.Pending("a", employee),
+				new EmployeeWriteBehindQueue.Pending("b", employee1)));
+
+		// then - verify the output
+		assertThat(writeBehindQueue.getStatus("a").getState()).isEqualTo(State.CREATED);
+		assertThat(writeBehindQueue.getStatus("a").getEmployeeId()).isEqualTo(7L);
+		assertThat(writeBehindQueue.getStatus("b").getState()).isEqualTo(State.FAILED);
+		assertThat(writeBehindQueue.getStatus("b").getMessage()).isEqualTo("row failed");
+	}
+
+	@Test
+	@DisplayName("Test for keeping pending statuses however many outcomes are retained")
+	public void givenManyOutcomes_whenGetStatus_thenPendingStatusKept() throws InterruptedException {
+		// given - precondition or setup
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		given(employeeService.saveEmployees(anyList())).willAnswer(arguments -> {
+			List<Employee> employees = arguments.getArgument(0);
+			if (employees.contains(employee)) {
+				writing.countDown();
+				release.await();
+			}
+			return new EmployeeBatchResult(employees, List.of());
+		});
+		writeBehindQueue.start();
+		EmployeeWriteStatus status = writeBehindQueue.submit(employee);
+		writing.await();
+
+		// when - action or behavior that we are going to test
+		for (int i = 0; i < 100; i++) {
+			Employee other = Employee.builder().id((long) i).email("employee" + i + "@email.com").build();
+			writeBehindQueue.write(List.of(new EmployeeWriteBehindQueue.Pending("completed-" + i, other)));
+		}
+
+		// then - verify the output
+		assertThat(writeBehindQueue.getStatus(status.getTrackingId()).getState()).isEqualTo(State.PENDING);
+		release.countDown();
+	}
+}
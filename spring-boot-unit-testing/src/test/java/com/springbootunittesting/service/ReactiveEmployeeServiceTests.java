@@ -0,0 +1,56 @@
+package com.springbootunittesting.service;
+
+import static org.mockito.BDDMockito.given;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.springbootunittesting.entity.Employee;
+import com.springbootunittesting.exception.ResourceExistsException;
+import com.springbootunittesting.repository.ReactiveEmployeeRepository;
+
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveEmployeeServiceTests {
+	@Mock
+	private ReactiveEmployeeRepository employeeRepository;
+	@InjectMocks
+	private ReactiveEmployeeServiceImpl employeeService;
+	private Employee employee;
+
+	@BeforeEach
+	public void setup() {
+		employee = Employee.builder().firstName("Scarlett").lastName("Johansson").email("scarjo@email.com").build();
+	}
+
+	@Test
+	@DisplayName("Test for saveEmployee method which throws exception on a duplicate email")
+	public void givenDuplicateEmail_whenSaveEmployee_thenThrowsResourceExistsException() {
+		// given - precondition or setup
+		given(employeeRepository.insert(employee)).willReturn(Mono.error(new DataIntegrityViolationException(
+				"Unique index or primary key violation: \"PUBLIC.UK_EMPLOYEES_EMAIL_INDEX_4 ON PUBLIC.EMPLOYEES(EMAIL)\"")));
+
+		// when - action or behavior that we are going to test
+		org.junit.jupiter.api.Assertions.assertThrows(ResourceExistsException.class,
+				() -> employeeService.saveEmployee(employee).block());
+	}
+
+	@Test
+	@DisplayName("Test for saveEmployee method which keeps other integrity violations")
+	public void givenNullColumn_whenSaveEmployee_thenThrowsDataIntegrityViolationException() {
+		// given - precondition or setup
+		given(employeeRepository.insert(employee)).willReturn(Mono.error(
+				new DataIntegrityViolationException("NULL not allowed for column \"FIRST_NAME\"")));
+
+		// when - action or behavior that we are going to test
+		org.junit.jupiter.api.Assertions.assertThrows(DataIntegrityViolationException.class,
+				() -> employeeService.saveEmployee(employee).block());
+	}
+}
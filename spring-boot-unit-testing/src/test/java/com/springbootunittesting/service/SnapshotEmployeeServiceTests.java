@@ -0,0 +1,112 @@
+package com.springbootunittesting.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.springbootunittesting.dto.EmployeePage;
+import com.springbootunittesting.entity.Employee;
+
+@ExtendWith(MockitoExtension.class)
+public class SnapshotEmployeeServiceTests {
+	@Mock
+	private EmployeeServiceImpl employeeServiceImpl;
+	@Mock
+	private EmployeeSnapshotStore snapshotStore;
+
+	private SnapshotEmployeeService employeeService;
+	private Employee employee1;
+	private Employee employee2;
+	private EmployeeSnapshot snapshot;
+
+	@BeforeEach
+	public void setup() {
+		employeeService = new SnapshotEmployeeService(employeeServiceImpl, snapshotStore);
+		employee1 = Employee.builder().id(1L).firstName("Scarlett").lastName("Johansson").email("scarjo@email.com")
+				.version(0L).build();
+		employee2 = Employee.builder().id(2L).firstName("Ana").lastName("De Armas").email("anadearmas@email.com")
+				.version(0L).build();
+		snapshot = EmployeeSnapshot.builder(2).add(employee1).add(employee2).build();
+	}
+
+	@Test
+	@DisplayName("Test for reading employees from the snapshot")
+	public void givenSnapshot_whenRead_thenServeFromSnapshot() {
+		// given - precondition or setup
+		given(snapshotStore.getSnapshot()).willReturn(snapshot);
+
+		// when - action or behavior that we are going to test
+		List<Employee> all = employeeService.getAllEmployees();
+		Optional<Employee> found = employeeService.getEmployee(2L);
+		List<Employee> byId = employeeService.getEmployeesById(List.of(2L, 3L, 1L, 2L));
+		List<Employee> exported = new ArrayList<>();
+		employeeService.exportEmployees(exported::add);
+
+		// then - verify the output
+		assertThat(all).containsExactly(employee1, employee2);
+		assertThat(found).contains(employee2);
+		assertThat(byId).containsExactly(employee2, employee1);
+		assertThat(exported).containsExactly(employee1, employee2);
+		verifyNoInteractions(employeeServiceImpl);
+	}
+
+	@Test
+	@DisplayName("Test for paging through the snapshot")
+	public void givenSnapshot_whenGetEmployees_thenReturnPageWithCursor() {
+		// given - precondition or setup
+		given(snapshotStore.getSnapshot()).willReturn(snapshot);
+
+		// when - action or behavior that we are going to test
+		EmployeePage first = employeeService.getEmployees(null, 1);
+		EmployeePage last = employeeService.getEmployees(first.getNextCursor(), 1);
+
+		// then - verify the output
+		assertThat(first.getEmployees()).containsExactly(employee1);
+		assertThat(first.getNextCursor()).isEqualTo(1L);
+		assertThat(last.getEmployees()).containsExactly(employee2);
+		assertThat(last.getNextCursor()).isEqualTo(2L);
+		assertThat(employeeService.getEmployees(2L, 1).getNextCursor()).isNull();
+	}
+
+	@Test
+	@DisplayName("Test for reading from the database until the first snapshot is loaded")
+	public void givenNoSnapshot_whenRead_thenServeFromDatabase() {
+		// given - precondition or setup
+		given(employeeServiceImpl.getEmployee(1L)).willReturn(Optional.of(employee1));
+
+		// when - action or behavior that we are going to test
+		Optional<Employee> found = employeeService.getEmployee(1L);
+
+		// then - verify the output
+		assertThat(found).contains(employee1);
+	}
+
+	@Test
+	@DisplayName("Test for requesting a refresh after a write")
+	public void givenWrite_whenUpdateEmployee_thenDelegateAndRefresh() {
+		// given - precondition or setup
+		given(employeeServiceImpl.updateEmployee(1L, employee1)).willReturn(employee1);
+
+		// when - action or behavior that we are going to test
+		Employee updated = employeeService.updateEmployee(1L, employee1);
+
+		// then - verify the output
+		assertThat(updated).isSameAs(employee1);
+		InOrder order = inOrder(employeeServiceImpl, snapshotStore);
+		order.verify(employeeServiceImpl).updateEmployee(1L, employee1);
+		order.verify(snapshotStore).refreshSoon();
+	}
+}